@@ -0,0 +1,159 @@
+package frc.robot.analytics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+
+import frc.robot.MechanismLogDecoder;
+
+/**
+ * One log loaded into primitive time/value columns.
+ * <p>
+ * Numeric and boolean entries of a .wpilog become one column each; numeric array entries become one
+ * column per element, named {@code name[i]}. That covers the replay inputs written through
+ * {@code ReplayLog}, the DS entries, and the drive state of a hoot file converted to .wpilog.
+ * Mechanism log segments keep their column names. Timestamps are FPGA seconds in both cases.
+ */
+public final class LogColumns {
+    /** A growable time series of doubles. */
+    public static final class Column {
+        private double[] m_times = new double[256];
+        private double[] m_values = new double[256];
+        private int m_size = 0;
+
+        void add(double time, double value) {
+            if (m_size == m_times.length) {
+                m_times = Arrays.copyOf(m_times, m_size * 2);
+                m_values = Arrays.copyOf(m_values, m_size * 2);
+            }
+            m_times[m_size] = time;
+            m_values[m_size] = value;
+            ++m_size;
+        }
+
+        public int size() {
+            return m_size;
+        }
+
+        public double time(int i) {
+            return m_times[i];
+        }
+
+        public double value(int i) {
+            return m_values[i];
+        }
+    }
+
+    private final String m_source;
+    private final Map<String, Column> m_columns = new HashMap<>();
+
+    private LogColumns(String source) {
+        m_source = source;
+    }
+
+    /** File the columns were loaded from. */
+    public String getSource() {
+        return m_source;
+    }
+
+    /**
+     * First column present out of several names for the same signal.
+     *
+     * @param names Candidate names in order of preference
+     * @return The column, or null if none are present
+     */
+    public Column find(String... names) {
+        for (String name : names) {
+            Column column = m_columns.get(name);
+            if (column != null && column.size() > 0) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    private Column column(String name) {
+        return m_columns.computeIfAbsent(name, n -> new Column());
+    }
+
+    /**
+     * Loads a .wpilog or a mechanism log segment, by extension.
+     *
+     * @param path Log file
+     * @return Loaded columns
+     */
+    public static LogColumns load(Path path) throws IOException {
+        return path.toString().endsWith(".mlog") ? loadMechanismLog(path) : loadWpilog(path);
+    }
+
+    private static LogColumns loadMechanismLog(Path path) throws IOException {
+        LogColumns columns = new LogColumns(path.toString());
+        MechanismLogDecoder.Segment segment = MechanismLogDecoder.read(path);
+        for (int c = 0; c < segment.names.length; ++c) {
+            Column column = columns.column(segment.names[c]);
+            float[] values = segment.columns[c];
+            for (int r = 0; r < values.length; ++r) {
+                column.add(segment.timestamps[r], values[r]);
+            }
+        }
+        return columns;
+    }
+
+    private static LogColumns loadWpilog(Path path) throws IOException {
+        DataLogReader reader = new DataLogReader(path.toString());
+        if (!reader.isValid()) {
+            throw new IOException(path + " is not a WPILib data log");
+        }
+        LogColumns columns = new LogColumns(path.toString());
+
+        /* Entry id to name and type, from the start records */
+        Map<Integer, String> names = new HashMap<>();
+        Map<Integer, String> types = new HashMap<>();
+        /* Per-element columns of array entries, so element names are built once per entry */
+        Map<Integer, Column[]> elements = new HashMap<>();
+        for (DataLogRecord record : reader) {
+            if (record.isStart()) {
+                var start = record.getStartData();
+                names.put(start.entry, start.name);
+                types.put(start.entry, start.type);
+                continue;
+            }
+            if (record.isControl()) {
+                continue;
+            }
+            String name = names.get(record.getEntry());
+            String type = types.get(record.getEntry());
+            if (name == null) {
+                continue;
+            }
+            double time = record.getTimestamp() / 1e6;
+            switch (type) {
+                case "double" -> columns.column(name).add(time, record.getDouble());
+                case "float" -> columns.column(name).add(time, record.getFloat());
+                case "int64" -> columns.column(name).add(time, record.getInteger());
+                case "boolean" -> columns.column(name).add(time, record.getBoolean() ? 1 : 0);
+                case "double[]" -> {
+                    double[] values = record.getDoubleArray();
+                    Column[] columnsForEntry = elements.get(record.getEntry());
+                    if (columnsForEntry == null || columnsForEntry.length < values.length) {
+                        columnsForEntry = new Column[values.length];
+                        for (int i = 0; i < values.length; ++i) {
+                            columnsForEntry[i] = columns.column(name + "[" + i + "]");
+                        }
+                        elements.put(record.getEntry(), columnsForEntry);
+                    }
+                    for (int i = 0; i < values.length; ++i) {
+                        columnsForEntry[i].add(time, values[i]);
+                    }
+                }
+                default -> {}
+            }
+        }
+        return columns;
+    }
+}
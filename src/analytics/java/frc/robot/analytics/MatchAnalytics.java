@@ -0,0 +1,105 @@
+package frc.robot.analytics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Computes match KPIs for every log under the given files or directories.
+ * <p>
+ * Each .wpilog and mechanism log segment (.mlog) is loaded into columns and reduced to
+ * {@link MatchKpis} independently, so logs are processed in parallel across cores and an event's
+ * worth takes about as long as the largest few files. Hoot files from {@code Telemetry} must be
+ * converted to .wpilog with CTRE's tools first. Prints one CSV row per log, then an event summary.
+ * Run with {@code ./gradlew analyzeLogs -PanalyzeArgs="/path/to/event/logs"}.
+ */
+public final class MatchAnalytics {
+    private MatchAnalytics() {}
+
+    private static boolean isLog(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".wpilog") || name.endsWith(".mlog");
+    }
+
+    /**
+     * Finds every log under the given paths.
+     *
+     * @param args Files or directories
+     * @return Log files, sorted
+     */
+    static List<Path> findLogs(String[] args) throws IOException {
+        List<Path> logs = new ArrayList<>();
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> walk = Files.walk(path)) {
+                    walk.filter(Files::isRegularFile).filter(MatchAnalytics::isLog).forEach(logs::add);
+                }
+            } else if (isLog(path)) {
+                logs.add(path);
+            }
+        }
+        logs.sort(null);
+        return logs;
+    }
+
+    /**
+     * Loads and reduces every log in parallel.
+     *
+     * @param logs Log files
+     * @return KPIs in the same order as the logs
+     */
+    public static List<MatchKpis> analyze(List<Path> logs) {
+        return logs.parallelStream()
+            .map(path -> {
+                try {
+                    return MatchKpis.compute(LogColumns.load(path));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(path.toString(), e);
+                }
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static double mean(List<MatchKpis> matches, ToDoubleFunction<MatchKpis> kpi) {
+        return matches.stream().mapToDouble(kpi).filter(v -> !Double.isNaN(v)).average().orElse(Double.NaN);
+    }
+
+    /**
+     * Entry point for the analyzeLogs task.
+     *
+     * @param args Log files or directories to search
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: MatchAnalytics <log or directory>...");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        List<Path> logs = findLogs(args);
+        List<MatchKpis> matches = analyze(logs);
+
+        System.out.println(MatchKpis.csvHeader());
+        for (MatchKpis match : matches) {
+            System.out.println(match.toCsv());
+        }
+
+        System.out.println();
+        System.out.printf("logs=%d shots=%d meanCycleSeconds=%.3f meanTimeToReadySeconds=%.3f "
+                + "meanPivotSettleSeconds=%.3f odometryDips=%d brownoutWindows=%d%n",
+            matches.size(),
+            matches.stream().mapToInt(m -> m.shotCount).sum(),
+            mean(matches, m -> m.meanCycleSeconds),
+            mean(matches, m -> m.meanTimeToReadySeconds),
+            mean(matches, m -> m.meanPivotSettleSeconds),
+            matches.stream().mapToInt(m -> m.odometryDips).sum(),
+            matches.stream().mapToInt(m -> m.brownoutWindows).sum());
+        System.out.printf("analyzed in %.2f s%n", (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,228 @@
+package frc.robot.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Match KPIs computed from one log's columns. Every KPI is computed from whichever log signals are
+ * present, and is NaN (or 0 for counts) when the log doesn't have them.
+ */
+public final class MatchKpis {
+    /* A note leaving with the flywheels above this is a shot, not an amp score or a reverse */
+    private static final double kShotMinRps = 20.0;
+    /* Pivot setpoint changes smaller than this (rotor rotations) are tracking, not moves */
+    private static final double kPivotMoveThreshold = 0.5;
+    private static final double kPivotSettleTolerance = 0.1;
+    /* An odometry update slower than this fraction of the median rate is a dip */
+    private static final double kOdometryDipFraction = 0.8;
+    /* Battery voltage below this counts as a brownout window even without the brownout flag */
+    private static final double kBrownoutVolts = 7.0;
+
+    public final String source;
+    public final double durationSeconds;
+    public int shotCount;
+    public double meanCycleSeconds = Double.NaN;
+    public double bestCycleSeconds = Double.NaN;
+    public double meanTimeToReadySeconds = Double.NaN;
+    public double maxTimeToReadySeconds = Double.NaN;
+    public double meanPivotSettleSeconds = Double.NaN;
+    public double maxPivotSettleSeconds = Double.NaN;
+    public double medianOdometryHz = Double.NaN;
+    public double minOdometryHz = Double.NaN;
+    public int odometryDips;
+    public int brownoutWindows;
+    public double brownoutSeconds;
+    public double minBatteryVolts = Double.NaN;
+
+    private MatchKpis(String source, double durationSeconds) {
+        this.source = source;
+        this.durationSeconds = durationSeconds;
+    }
+
+    /**
+     * Computes every KPI the log has the signals for.
+     *
+     * @param log Loaded log
+     * @return KPIs for the log
+     */
+    public static MatchKpis compute(LogColumns log) {
+        LogColumns.Column battery = log.find("Robot/batteryVoltage");
+        LogColumns.Column any = battery != null ? battery
+            : log.find("Replay/Loop", "Shooter/innerVelocity", "DriveState/OdometryPeriod");
+        double duration = any == null ? 0 : any.time(any.size() - 1) - any.time(0);
+
+        MatchKpis kpis = new MatchKpis(log.getSource(), duration);
+        kpis.computeShots(
+            log.find("Intake/hasNote", "Replay/Inputs/Intake[0]"),
+            log.find("Shooter/innerVelocity", "Replay/Inputs/Shooter[0]"));
+        kpis.computeTimeToReady(log.find("Shooter/target"), log.find("Shooter/atSpeed"));
+        kpis.computePivotSettle(
+            log.find("Pivot/target"),
+            log.find("Pivot/position", "Replay/Inputs/Pivot[0]"));
+        kpis.computeOdometry(log.find("Drive/odometryPeriod", "DriveState/OdometryPeriod", "Replay/Inputs/Drive[7]"));
+        kpis.computeBrownouts(battery, log.find("Robot/brownedOut"));
+        return kpis;
+    }
+
+    /** Value of a column at or before a time, by binary search. */
+    private static double valueAt(LogColumns.Column column, double time) {
+        int lo = 0;
+        int hi = column.size() - 1;
+        if (hi < 0 || time < column.time(0)) {
+            return Double.NaN;
+        }
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (column.time(mid) <= time) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return column.value(lo);
+    }
+
+    private void computeShots(LogColumns.Column hasNote, LogColumns.Column flywheel) {
+        if (hasNote == null || flywheel == null) {
+            return;
+        }
+        double lastShot = Double.NaN;
+        double cycleSum = 0;
+        int cycles = 0;
+        for (int i = 1; i < hasNote.size(); ++i) {
+            boolean released = hasNote.value(i - 1) != 0 && hasNote.value(i) == 0;
+            if (!released || Math.abs(valueAt(flywheel, hasNote.time(i))) < kShotMinRps) {
+                continue;
+            }
+            ++shotCount;
+            if (!Double.isNaN(lastShot)) {
+                double cycle = hasNote.time(i) - lastShot;
+                cycleSum += cycle;
+                ++cycles;
+                bestCycleSeconds = Double.isNaN(bestCycleSeconds) ? cycle : Math.min(bestCycleSeconds, cycle);
+            }
+            lastShot = hasNote.time(i);
+        }
+        if (cycles > 0) {
+            meanCycleSeconds = cycleSum / cycles;
+        }
+    }
+
+    private void computeTimeToReady(LogColumns.Column target, LogColumns.Column atSpeed) {
+        if (target == null || atSpeed == null) {
+            return;
+        }
+        double sum = 0;
+        int count = 0;
+        double spinUpStart = Double.NaN;
+        for (int i = 1; i < target.size(); ++i) {
+            if (target.value(i - 1) == 0 && target.value(i) != 0) {
+                spinUpStart = target.time(i);
+            } else if (target.value(i) == 0) {
+                /* Stopped before reaching speed */
+                spinUpStart = Double.NaN;
+            }
+            if (!Double.isNaN(spinUpStart) && valueAt(atSpeed, target.time(i)) != 0) {
+                double ready = target.time(i) - spinUpStart;
+                sum += ready;
+                ++count;
+                maxTimeToReadySeconds = Double.isNaN(maxTimeToReadySeconds) ? ready : Math.max(maxTimeToReadySeconds, ready);
+                spinUpStart = Double.NaN;
+            }
+        }
+        if (count > 0) {
+            meanTimeToReadySeconds = sum / count;
+        }
+    }
+
+    private void computePivotSettle(LogColumns.Column target, LogColumns.Column position) {
+        if (target == null || position == null) {
+            return;
+        }
+        double sum = 0;
+        int count = 0;
+        double moveStart = Double.NaN;
+        for (int i = 1; i < target.size(); ++i) {
+            double setpoint = target.value(i);
+            if (Math.abs(setpoint - target.value(i - 1)) > kPivotMoveThreshold) {
+                moveStart = target.time(i);
+            }
+            if (!Double.isNaN(moveStart)
+                    && Math.abs(valueAt(position, target.time(i)) - setpoint) <= kPivotSettleTolerance) {
+                double settle = target.time(i) - moveStart;
+                sum += settle;
+                ++count;
+                maxPivotSettleSeconds = Double.isNaN(maxPivotSettleSeconds) ? settle : Math.max(maxPivotSettleSeconds, settle);
+                moveStart = Double.NaN;
+            }
+        }
+        if (count > 0) {
+            meanPivotSettleSeconds = sum / count;
+        }
+    }
+
+    private void computeOdometry(LogColumns.Column period) {
+        if (period == null) {
+            return;
+        }
+        double[] hz = new double[period.size()];
+        int n = 0;
+        for (int i = 0; i < period.size(); ++i) {
+            if (period.value(i) > 0) {
+                hz[n++] = 1.0 / period.value(i);
+            }
+        }
+        if (n == 0) {
+            return;
+        }
+        double[] sorted = Arrays.copyOf(hz, n);
+        Arrays.sort(sorted);
+        medianOdometryHz = sorted[n / 2];
+        minOdometryHz = sorted[0];
+
+        double dipHz = medianOdometryHz * kOdometryDipFraction;
+        boolean inDip = false;
+        for (int i = 0; i < n; ++i) {
+            boolean dip = hz[i] < dipHz;
+            if (dip && !inDip) {
+                ++odometryDips;
+            }
+            inDip = dip;
+        }
+    }
+
+    private void computeBrownouts(LogColumns.Column battery, LogColumns.Column brownedOut) {
+        LogColumns.Column timeBase = brownedOut != null ? brownedOut : battery;
+        if (timeBase == null) {
+            return;
+        }
+        boolean inWindow = false;
+        for (int i = 0; i < timeBase.size(); ++i) {
+            double time = timeBase.time(i);
+            double volts = battery == null ? Double.NaN : valueAt(battery, time);
+            if (!Double.isNaN(volts)) {
+                minBatteryVolts = Double.isNaN(minBatteryVolts) ? volts : Math.min(minBatteryVolts, volts);
+            }
+            boolean browning = (brownedOut != null && valueAt(brownedOut, time) != 0) || volts < kBrownoutVolts;
+            if (browning && !inWindow) {
+                ++brownoutWindows;
+            }
+            if (browning && i > 0) {
+                brownoutSeconds += time - timeBase.time(i - 1);
+            }
+            inWindow = browning;
+        }
+    }
+
+    public static String csvHeader() {
+        return "source,durationSeconds,shots,meanCycleSeconds,bestCycleSeconds,"
+            + "meanTimeToReadySeconds,maxTimeToReadySeconds,meanPivotSettleSeconds,maxPivotSettleSeconds,"
+            + "medianOdometryHz,minOdometryHz,odometryDips,brownoutWindows,brownoutSeconds,minBatteryVolts";
+    }
+
+    public String toCsv() {
+        return String.format("\"%s\",%.2f,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.1f,%.1f,%d,%d,%.3f,%.2f",
+            source, durationSeconds, shotCount, meanCycleSeconds, bestCycleSeconds,
+            meanTimeToReadySeconds, maxTimeToReadySeconds, meanPivotSettleSeconds, maxPivotSettleSeconds,
+            medianOdometryHz, minOdometryHz, odometryDips, brownoutWindows, brownoutSeconds, minBatteryVolts);
+    }
+}
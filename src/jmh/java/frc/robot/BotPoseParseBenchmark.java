@@ -0,0 +1,67 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+
+/**
+ * Compares reading and parsing one MegaTag2 botpose through
+ * {@link LimelightHelpers#getBotPoseEstimate_wpiBlue_MegaTag2(String)}, which builds a new
+ * PoseEstimate and RawFiducial array per call, with parsing the same array in place into a
+ * reused {@link Vision.Estimate}. gc.alloc.rate.norm for the in-place parse should be 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BotPoseParseBenchmark {
+    private static final String kName = "limelight-bench";
+    private static final int kValsPerFiducial = 7;
+
+    @Param({"1", "4"})
+    public int tagCount;
+
+    private double[] m_botPose;
+    private DoubleArrayPublisher m_publisher;
+    private final Vision.Estimate m_estimate = new Vision.Estimate();
+
+    @Setup
+    public void setup() {
+        m_botPose = new double[11 + kValsPerFiducial * tagCount];
+        m_botPose[0] = 3.2;
+        m_botPose[1] = 5.1;
+        m_botPose[5] = 12.0;
+        m_botPose[6] = 25.0;
+        m_botPose[7] = tagCount;
+        m_botPose[9] = 2.4;
+        m_botPose[10] = 0.8;
+        for (int i = 0; i < tagCount; ++i) {
+            int base = 11 + i * kValsPerFiducial;
+            m_botPose[base] = 3 + i;
+            m_botPose[base + 4] = 2.5;
+            m_botPose[base + 5] = 2.4;
+            m_botPose[base + 6] = 0.1;
+        }
+        m_publisher = LimelightHelpers.getLimelightNTTable(kName)
+            .getDoubleArrayTopic("botpose_orb_wpiblue").publish();
+        m_publisher.set(m_botPose);
+    }
+
+    @Benchmark
+    public LimelightHelpers.PoseEstimate limelightHelpers() {
+        return LimelightHelpers.getBotPoseEstimate_wpiBlue_MegaTag2(kName);
+    }
+
+    @Benchmark
+    public boolean inPlace() {
+        return m_estimate.parse(m_botPose, 1_000_000L);
+    }
+}
@@ -0,0 +1,50 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
+import com.ctre.phoenix6.swerve.SwerveRequest;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
+
+/**
+ * Measures the default drive command's request supplier, built the same way as in
+ * {@link RobotContainer}: three joystick reads and the FieldCentric request updates. It runs every
+ * loop the driver is in control. gc.alloc.rate.norm should stay at 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DriveRequestBenchmark {
+    private static final double kMaxAngularRate = 0.75 * 2 * Math.PI;
+
+    private Supplier<SwerveRequest> m_request;
+
+    @Setup
+    public void setup() {
+        HAL.initialize(500, 0);
+        CommandXboxController joystick = new CommandXboxController(0);
+        SwerveRequest.FieldCentric drive = new SwerveRequest.FieldCentric()
+            .withDeadband(Constants.drivetrainMaxSpeed * 0.1).withRotationalDeadband(kMaxAngularRate * 0.1)
+            .withDriveRequestType(DriveRequestType.OpenLoopVoltage);
+        m_request = () -> drive
+            .withVelocityX(-joystick.getLeftY() * Constants.drivetrainMaxSpeed)
+            .withVelocityY(-joystick.getLeftX() * Constants.drivetrainMaxSpeed)
+            .withRotationalRate(-joystick.getRightX() * kMaxAngularRate);
+    }
+
+    @Benchmark
+    public SwerveRequest driveRequest() {
+        return m_request.get();
+    }
+}
@@ -0,0 +1,63 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+/**
+ * Compares one robot loop's worth of Limelight reads (tv, tx, ty, ta and the MegaTag2 botpose)
+ * per camera through uncached NT lookups versus the cached LimelightHelpers handles.
+ * Multiply the per-op time by 50 for the cost per second at the 50 Hz loop rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LimelightAccessorBenchmark {
+    @Param({"1", "2", "4"})
+    public int cameraCount;
+
+    private String[] m_names;
+
+    @Setup
+    public void setup() {
+        m_names = new String[cameraCount];
+        for (int i = 0; i < cameraCount; ++i) {
+            m_names[i] = "limelight-" + i;
+            /* Warm the handle cache so only steady-state lookups are measured */
+            LimelightHelpers.getTV(m_names[i]);
+        }
+    }
+
+    @Benchmark
+    public void uncachedLookups(Blackhole bh) {
+        var inst = NetworkTableInstance.getDefault();
+        for (String name : m_names) {
+            bh.consume(inst.getTable(name).getEntry("tv").getDouble(0.0));
+            bh.consume(inst.getTable(name).getEntry("tx").getDouble(0.0));
+            bh.consume(inst.getTable(name).getEntry("ty").getDouble(0.0));
+            bh.consume(inst.getTable(name).getEntry("ta").getDouble(0.0));
+            bh.consume(inst.getTable(name).getEntry("botpose_orb_wpiblue").getDoubleArray(new double[0]));
+        }
+    }
+
+    @Benchmark
+    public void cachedHandles(Blackhole bh) {
+        for (String name : m_names) {
+            bh.consume(LimelightHelpers.getTV(name));
+            bh.consume(LimelightHelpers.getTX(name));
+            bh.consume(LimelightHelpers.getTY(name));
+            bh.consume(LimelightHelpers.getTA(name));
+            bh.consume(LimelightHelpers.getLimelightDoubleArrayEntry(name, "botpose_orb_wpiblue").get());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package frc.robot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import frc.robot.LimelightHelpers.LimelightResults;
+import frc.robot.LimelightHelpers.ResultField;
+
+/**
+ * Compares the full Jackson data-binding parse used by {@link LimelightHelpers#getLatestResults(String)}
+ * with the fiducial-only streaming parse, over the JSON in src/jmh/resources/limelight.
+ * <p>
+ * Those files are hand-written in the LLOS results format, with tag counts and field sets typical of
+ * a match, not dumps captured from a camera. Replace them with real dumps from the robot's cameras
+ * before relying on the absolute numbers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LimelightJsonBenchmark {
+    @Param({"fiducial_results.json", "fiducial_detector_results.json"})
+    public String dump;
+
+    private final ObjectMapper m_mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final EnumSet<ResultField> m_fiducialsOnly = EnumSet.of(ResultField.FIDUCIAL);
+    private final LimelightResults m_reused = new LimelightResults();
+    private String m_json;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/limelight/" + dump)) {
+            m_json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public LimelightResults jacksonFull() throws IOException {
+        return m_mapper.readValue(m_json, LimelightResults.class);
+    }
+
+    @Benchmark
+    public LimelightResults streamingFiducialsOnly() throws IOException {
+        LimelightHelpers.parseResults(m_json, m_fiducialsOnly, m_reused);
+        return m_reused;
+    }
+}
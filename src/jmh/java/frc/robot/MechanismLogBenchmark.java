@@ -0,0 +1,72 @@
+package frc.robot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import edu.wpi.first.hal.HAL;
+
+import frc.robot.util.MechanismLog;
+
+/**
+ * Measures one {@link MechanismLog} record of the 16 columns the robot logs. The segment is
+ * restarted when it fills so every op is a real write. gc.alloc.rate.norm should stay at 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MechanismLogBenchmark {
+    private static final int kColumns = 16;
+    private static final int kCapacity = 100000;
+
+    private File m_directory;
+    private MechanismLog m_log;
+    private double m_value = 0;
+    private int m_records = 0;
+
+    @Setup
+    public void setup() throws IOException {
+        /* Records are stamped with the FPGA time */
+        HAL.initialize(500, 0);
+        m_directory = Files.createTempDirectory("mechlog").toFile();
+        m_log = new MechanismLog(m_directory, kCapacity);
+        for (int i = 0; i < kColumns; ++i) {
+            int column = i;
+            m_log.addColumn("column" + i, () -> m_value + column);
+        }
+        m_log.start();
+    }
+
+    @Benchmark
+    public void append() {
+        if (++m_records > kCapacity) {
+            m_log.finish();
+            m_log.start();
+            m_records = 1;
+        }
+        m_value += 0.001;
+        m_log.append();
+    }
+
+    @TearDown
+    public void tearDown() {
+        m_log.finish();
+        File[] files = m_directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        m_directory.delete();
+    }
+}
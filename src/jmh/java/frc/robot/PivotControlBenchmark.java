@@ -0,0 +1,41 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import frc.robot.subsystems.Pivot;
+import frc.robot.subsystems.PivotIO;
+import frc.robot.util.ReplayLog;
+
+/**
+ * Measures one loop of pivot control: the gravity feedforward from the current position, the
+ * motion magic request, and recording it for replay. Uses the no-op IO so no hardware or CAN
+ * is involved. gc.alloc.rate.norm should stay at 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PivotControlBenchmark {
+    private Pivot m_pivot;
+    private double m_angle = 0;
+
+    @Setup
+    public void setup() {
+        /* Keeps ReplayLog from starting a data log file for the benchmark */
+        ReplayLog.setReplaying(true);
+        m_pivot = new Pivot(new PivotIO() {});
+    }
+
+    @Benchmark
+    public void pivotTo() {
+        m_angle = m_angle > 60 ? 0 : m_angle + 0.5;
+        m_pivot.pivotTo(m_angle);
+    }
+}
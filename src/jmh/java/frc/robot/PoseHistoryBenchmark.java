@@ -0,0 +1,54 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import frc.robot.util.PoseHistory;
+
+/**
+ * Measures pose history inserts and interpolated lookups on a full 250 Hz history.
+ * Run with the GC profiler; gc.alloc.rate.norm should stay at 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PoseHistoryBenchmark {
+    private static final double kPeriod = 0.004;
+
+    private final PoseHistory m_history = new PoseHistory();
+    private final double[] m_out = new double[3];
+    private double m_time = 0;
+    private int m_lookup = 0;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < PoseHistory.kDefaultCapacity; ++i) {
+            add();
+        }
+    }
+
+    private void add() {
+        m_time += kPeriod;
+        m_history.add(m_time, m_time, 0.5 * m_time, Math.sin(m_time));
+    }
+
+    @Benchmark
+    public void insert() {
+        add();
+    }
+
+    @Benchmark
+    public double[] lookup() {
+        /* Walk back through the last ~2 s at an offset between samples */
+        m_lookup = (m_lookup + 37) % (PoseHistory.kDefaultCapacity - 1);
+        m_history.sample(m_time - m_lookup * kPeriod - kPeriod / 3, m_out);
+        return m_out;
+    }
+}
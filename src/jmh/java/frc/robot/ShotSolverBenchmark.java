@@ -0,0 +1,41 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures ShotSolver solve time. Sample mode reports p99.99 and max, which is what has to fit
+ * in the loop budget; the solver runs a fixed number of iterations, so the worst case is the
+ * out-of-range case that takes the full-speed retry in every iteration.
+ * <p>
+ * A roboRIO 2 core is roughly 10x slower than a desktop core for this kind of scalar floating
+ * point code, so budget against 10x the max reported here, or run the jar on the roboRIO.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShotSolverBenchmark {
+    /* Near the speaker, mid-field, and beyond shooting range */
+    @Param({"2.0", "6.0", "14.0"})
+    public double distance;
+
+    private final ShotSolver m_solver = new ShotSolver();
+    private double m_angle = 0;
+
+    @Benchmark
+    public double solve() {
+        /* Drive in a circle at full speed around a point the given distance from the blue speaker */
+        m_angle += 0.01;
+        double vx = 4.5 * Math.cos(m_angle);
+        double vy = 4.5 * Math.sin(m_angle);
+        m_solver.solve(distance, 5.55, vx, vy, false);
+        return m_solver.getPivotAngleDegrees() + m_solver.getFlywheelRps() + m_solver.getHeadingRadians();
+    }
+}
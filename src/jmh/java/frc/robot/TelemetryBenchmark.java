@@ -0,0 +1,68 @@
+package frc.robot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/**
+ * Measures the cost of one odometry-thread telemetry update, and of one update plus the consumer's
+ * logging and publishing of it.
+ * Run with the GC profiler; gc.alloc.rate.norm should stay at 0 B/op.
+ * {@code TelemetryAllocationTest} asserts the same thing on every test run.
+ * <p>
+ * The telemetry is built without its consumer thread and every op empties the ring again, so
+ * each call takes the copy path instead of the ring-full early return.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TelemetryBenchmark {
+    private Telemetry m_telemetry;
+    private SwerveDriveState m_state;
+
+    @Setup
+    public void setup() {
+        m_telemetry = new Telemetry(Constants.drivetrainMaxSpeed, false);
+
+        m_state = new SwerveDriveState();
+        m_state.Pose = new Pose2d(3.0, 4.0, Rotation2d.fromDegrees(30));
+        m_state.Speeds = new ChassisSpeeds(1.0, 0.5, 0.25);
+        m_state.ModuleStates = new SwerveModuleState[4];
+        m_state.ModuleTargets = new SwerveModuleState[4];
+        m_state.ModulePositions = new SwerveModulePosition[4];
+        for (int i = 0; i < 4; ++i) {
+            m_state.ModuleStates[i] = new SwerveModuleState(1.0, Rotation2d.fromDegrees(i * 10));
+            m_state.ModuleTargets[i] = new SwerveModuleState(1.1, Rotation2d.fromDegrees(i * 10));
+            m_state.ModulePositions[i] = new SwerveModulePosition(i, Rotation2d.fromDegrees(i * 10));
+        }
+        m_state.OdometryPeriod = 0.004;
+    }
+
+    @Benchmark
+    public void telemeterize() {
+        m_state.Timestamp += 0.004;
+        m_telemetry.telemeterize(m_state);
+        m_telemetry.discardQueued();
+    }
+
+    @Benchmark
+    public void telemeterizeAndPublish() {
+        m_state.Timestamp += 0.004;
+        m_telemetry.telemeterize(m_state);
+        m_telemetry.drain();
+    }
+}
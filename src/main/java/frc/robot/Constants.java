@@ -6,7 +6,9 @@ package frc.robot;
 
 /** Add your docs here. */
 public class Constants {
-    public static double shooterSpeed = 70; // percent 0-100
+    public static double shooterSpeed = 70; // rps
+    public static double shooterIdleSpeed = 0; // rps held between shots, 0 to stop
+    public static boolean shooterSpinUpBoost = false; // full output until near setpoint; off until compareSpinUpBoost shows a gain
     public static double intakeSpeed = -0.50; // duty cycle 0-1
     public static double indexerSpeed = 0.3; // duty cycle 0-1
     public static double indexerSpeedAct = 0.65; // duty cycle 0-1
@@ -21,6 +23,15 @@ public class Constants {
     public static double pivotAmpPos = 63; // position
     public static double pivotStowDescentVolts = -6.0;
     public static double pivotStowHoldVolts = -0.25;
+    // Gains, read once when the subsystem is constructed
+    public static double shooterKP = 0.2;
+    public static double shooterKV = 0.12;
+    public static double autoTranslationKP = 10;
+    public static double autoTranslationKI = 0;
+    public static double autoTranslationKD = 0;
+    public static double autoRotationKP = 7;
+    public static double autoRotationKI = 0;
+    public static double autoRotationKD = 0;
     // Presets
     public static final double shooterSpeedHigh = 90;
     public static final double shooterSpeedMedium = 65;
@@ -3,6 +3,9 @@
 package frc.robot;
 
 import edu.wpi.first.networktables.DoubleArrayEntry;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.DoubleSubscriber;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
@@ -21,13 +24,20 @@ import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.concurrent.ConcurrentHashMap;
@@ -38,7 +48,69 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class LimelightHelpers {
 
-    private static final Map<String, DoubleArrayEntry> doubleArrayEntries = new ConcurrentHashMap<>();
+    private static final Map<String, CameraHandles> cameraHandles = new ConcurrentHashMap<>();
+    private static final double[] EMPTY_DOUBLE_ARRAY = new double[0];
+    private static final String[] EMPTY_STRING_ARRAY = new String[0];
+
+    /**
+     * NetworkTables handles for one Limelight, created once per camera name and reused by every accessor.
+     * The most frequently polled values get typed subscribers; everything else is cached per entry name.
+     */
+    private static class CameraHandles {
+        final NetworkTable table;
+        final Map<String, NetworkTableEntry> entries = new ConcurrentHashMap<>();
+        final Map<String, DoubleArrayEntry> doubleArrayEntries = new ConcurrentHashMap<>();
+
+        final DoubleSubscriber tv;
+        final DoubleSubscriber tx;
+        final DoubleSubscriber ty;
+        final DoubleSubscriber txnc;
+        final DoubleSubscriber tync;
+        final DoubleSubscriber ta;
+        final DoubleArrayPublisher robotOrientation;
+        final double[] robotOrientationArray = new double[6];
+        final DoublePublisher jsonParseLatency;
+
+        CameraHandles(String tableName) {
+            table = NetworkTableInstance.getDefault().getTable(tableName);
+            tv = table.getDoubleTopic("tv").subscribe(0.0);
+            tx = table.getDoubleTopic("tx").subscribe(0.0);
+            ty = table.getDoubleTopic("ty").subscribe(0.0);
+            txnc = table.getDoubleTopic("txnc").subscribe(0.0);
+            tync = table.getDoubleTopic("tync").subscribe(0.0);
+            ta = table.getDoubleTopic("ta").subscribe(0.0);
+            robotOrientation = table.getDoubleArrayTopic("robot_orientation_set").publish();
+            jsonParseLatency = NetworkTableInstance.getDefault().getTable("LimelightHelpers")
+                .getDoubleTopic(tableName + "/JsonParseMs").publish();
+        }
+
+        NetworkTableEntry entry(String entryName) {
+            NetworkTableEntry entry = entries.get(entryName);
+            if (entry == null) {
+                entry = table.getEntry(entryName);
+                entries.put(entryName, entry);
+            }
+            return entry;
+        }
+
+        DoubleArrayEntry doubleArrayEntry(String entryName) {
+            DoubleArrayEntry entry = doubleArrayEntries.get(entryName);
+            if (entry == null) {
+                entry = table.getDoubleArrayTopic(entryName).getEntry(EMPTY_DOUBLE_ARRAY);
+                doubleArrayEntries.put(entryName, entry);
+            }
+            return entry;
+        }
+    }
+
+    private static CameraHandles getCameraHandles(String limelightName) {
+        String tableName = sanitizeName(limelightName);
+        CameraHandles handles = cameraHandles.get(tableName);
+        if (handles == null) {
+            handles = cameraHandles.computeIfAbsent(tableName, CameraHandles::new);
+        }
+        return handles;
+    }
 
     /**
      * Represents a Color/Retroreflective Target Result extracted from JSON Output
@@ -722,7 +794,7 @@ public class LimelightHelpers {
      */
     public static RawFiducial[] getRawFiducials(String limelightName) {
         var entry = LimelightHelpers.getLimelightNTTableEntry(limelightName, "rawfiducials");
-        var rawFiducialArray = entry.getDoubleArray(new double[0]);
+        var rawFiducialArray = entry.getDoubleArray(EMPTY_DOUBLE_ARRAY);
         int valsPerEntry = 7;
         if (rawFiducialArray.length % valsPerEntry != 0) {
             return new RawFiducial[0];
@@ -755,7 +827,7 @@ public class LimelightHelpers {
      */
     public static RawDetection[] getRawDetections(String limelightName) {
         var entry = LimelightHelpers.getLimelightNTTableEntry(limelightName, "rawdetections");
-        var rawDetectionArray = entry.getDoubleArray(new double[0]);
+        var rawDetectionArray = entry.getDoubleArray(EMPTY_DOUBLE_ARRAY);
         int valsPerEntry = 12;
         if (rawDetectionArray.length % valsPerEntry != 0) {
             return new RawDetection[0];
@@ -833,7 +905,7 @@ public class LimelightHelpers {
     }
 
     public static NetworkTable getLimelightNTTable(String tableName) {
-        return NetworkTableInstance.getDefault().getTable(sanitizeName(tableName));
+        return getCameraHandles(tableName).table;
     }
 
     public static void Flush() {
@@ -841,15 +913,11 @@ public class LimelightHelpers {
     }
 
     public static NetworkTableEntry getLimelightNTTableEntry(String tableName, String entryName) {
-        return getLimelightNTTable(tableName).getEntry(entryName);
+        return getCameraHandles(tableName).entry(entryName);
     }
 
     public static DoubleArrayEntry getLimelightDoubleArrayEntry(String tableName, String entryName) {
-        String key = tableName + "/" + entryName;
-        return doubleArrayEntries.computeIfAbsent(key, k -> {
-            NetworkTable table = getLimelightNTTable(tableName);
-            return table.getDoubleArrayTopic(entryName).getEntry(new double[0]);
-        });
+        return getCameraHandles(tableName).doubleArrayEntry(entryName);
     }
     
     public static double getLimelightNTDouble(String tableName, String entryName) {
@@ -865,7 +933,7 @@ public class LimelightHelpers {
     }
 
     public static double[] getLimelightNTDoubleArray(String tableName, String entryName) {
-        return getLimelightNTTableEntry(tableName, entryName).getDoubleArray(new double[0]);
+        return getLimelightNTTableEntry(tableName, entryName).getDoubleArray(EMPTY_DOUBLE_ARRAY);
     }
 
 
@@ -874,7 +942,7 @@ public class LimelightHelpers {
     }
 
     public static String[] getLimelightNTStringArray(String tableName, String entryName) {
-        return getLimelightNTTableEntry(tableName, entryName).getStringArray(new String[0]);
+        return getLimelightNTTableEntry(tableName, entryName).getStringArray(EMPTY_STRING_ARRAY);
     }
 
 
@@ -898,7 +966,7 @@ public class LimelightHelpers {
      * @return True if a valid target is present, false otherwise
      */
     public static boolean getTV(String limelightName) {
-        return 1.0 == getLimelightNTDouble(limelightName, "tv");
+        return 1.0 == getCameraHandles(limelightName).tv.get();
     }
 
     /**
@@ -907,7 +975,7 @@ public class LimelightHelpers {
      * @return Horizontal offset angle in degrees
      */
     public static double getTX(String limelightName) {
-        return getLimelightNTDouble(limelightName, "tx");
+        return getCameraHandles(limelightName).tx.get();
     }
 
     /**
@@ -916,7 +984,7 @@ public class LimelightHelpers {
      * @return Vertical offset angle in degrees
      */
     public static double getTY(String limelightName) {
-        return getLimelightNTDouble(limelightName, "ty");
+        return getCameraHandles(limelightName).ty.get();
     }
 
     /**
@@ -925,7 +993,7 @@ public class LimelightHelpers {
      * @return Horizontal offset angle in degrees
      */
     public static double getTXNC(String limelightName) {
-        return getLimelightNTDouble(limelightName, "txnc");
+        return getCameraHandles(limelightName).txnc.get();
     }
 
     /**
@@ -934,7 +1002,7 @@ public class LimelightHelpers {
      * @return Vertical offset angle in degrees
      */
     public static double getTYNC(String limelightName) {
-        return getLimelightNTDouble(limelightName, "tync");
+        return getCameraHandles(limelightName).tync.get();
     }
 
     /**
@@ -943,7 +1011,7 @@ public class LimelightHelpers {
      * @return Target area percentage (0-100)
      */
     public static double getTA(String limelightName) {
-        return getLimelightNTDouble(limelightName, "ta");
+        return getCameraHandles(limelightName).ta.get();
     }
 
     /**
@@ -1412,14 +1480,15 @@ public class LimelightHelpers {
         double pitch, double pitchRate, 
         double roll, double rollRate, boolean flush) {
 
-        double[] entries = new double[6];
+        CameraHandles handles = getCameraHandles(limelightName);
+        double[] entries = handles.robotOrientationArray;
         entries[0] = yaw;
         entries[1] = yawRate;
         entries[2] = pitch;
         entries[3] = pitchRate;
         entries[4] = roll;
         entries[5] = rollRate;
-        setLimelightNTDoubleArray(limelightName, "robot_orientation_set", entries);
+        handles.robotOrientation.set(entries);
         if(flush)
         {
             Flush();
@@ -1580,10 +1649,378 @@ public class LimelightHelpers {
         long end = System.nanoTime();
         double millis = (end - start) * .000001;
         results.latency_jsonParse = millis;
+        getCameraHandles(limelightName).jsonParseLatency.set(millis);
+        if (profileJSON) {
+            System.out.printf("lljson: %.2f\r\n", millis);
+        }
+
+        return results;
+    }
+
+    /**
+     * Sections of the JSON results output that can be selected for streaming parsing.
+     * The pipeline header (pID, tl, cl, ts, ts_rio, v) is always parsed.
+     */
+    public enum ResultField {
+        /** botpose arrays, tag count/span/distance/area and camera pose in robot space */
+        BOTPOSE,
+        RETRO,
+        FIDUCIAL,
+        CLASSIFIER,
+        DETECTOR,
+        BARCODE
+    }
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Gets the latest JSON results output, parsing only the requested sections into an existing results object.
+     * Everything else in the JSON is skipped without being materialized, and target objects and arrays
+     * from the previous call are reused when the target count is unchanged.
+     * @param limelightName Name of the Limelight camera
+     * @param fields Sections to parse
+     * @param results Results object to fill in; sections that aren't requested keep their previous values
+     * @return The same results object
+     */
+    public static LimelightResults getLatestResults(String limelightName, EnumSet<ResultField> fields, LimelightResults results) {
+        long start = System.nanoTime();
+        results.error = null;
+        try {
+            parseResults(getJSONDump(limelightName), fields, results);
+        } catch (IOException e) {
+            results.error = "lljson error: " + e.getMessage();
+        }
+
+        double millis = (System.nanoTime() - start) * .000001;
+        results.latency_jsonParse = millis;
+        getCameraHandles(limelightName).jsonParseLatency.set(millis);
         if (profileJSON) {
             System.out.printf("lljson: %.2f\r\n", millis);
         }
 
         return results;
     }
+
+    /**
+     * Streams a JSON results dump into an existing results object, parsing only the requested sections.
+     * @param json JSON results dump
+     * @param fields Sections to parse
+     * @param results Results object to fill in
+     * @throws IOException If the JSON is malformed
+     */
+    public static void parseResults(String json, EnumSet<ResultField> fields, LimelightResults results) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("expected a JSON object");
+            }
+            parseResultsObject(parser, fields, results);
+        }
+    }
+
+    private static void parseResultsObject(JsonParser parser, EnumSet<ResultField> fields, LimelightResults results) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                // Older LLOS versions wrap everything in a "Results" object
+                case "Results":
+                    if (value == JsonToken.START_OBJECT) {
+                        parseResultsObject(parser, fields, results);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case "pID": results.pipelineID = parser.getValueAsDouble(); break;
+                case "tl": results.latency_pipeline = parser.getValueAsDouble(); break;
+                case "cl": results.latency_capture = parser.getValueAsDouble(); break;
+                case "ts": results.timestamp_LIMELIGHT_publish = parser.getValueAsDouble(); break;
+                case "ts_rio": results.timestamp_RIOFPGA_capture = parser.getValueAsDouble(); break;
+                case "v": results.valid = parser.getValueAsDouble() != 0; break;
+                default:
+                    if (!parseSelectedField(parser, name, fields, results)) {
+                        parser.skipChildren();
+                    }
+                    break;
+            }
+        }
+    }
+
+    private static boolean parseSelectedField(JsonParser parser, String name, EnumSet<ResultField> fields, LimelightResults results) throws IOException {
+        if (fields.contains(ResultField.BOTPOSE)) {
+            switch (name) {
+                case "botpose": results.botpose = readDoubleArray(parser, results.botpose); return true;
+                case "botpose_wpired": results.botpose_wpired = readDoubleArray(parser, results.botpose_wpired); return true;
+                case "botpose_wpiblue": results.botpose_wpiblue = readDoubleArray(parser, results.botpose_wpiblue); return true;
+                case "botpose_tagcount": results.botpose_tagcount = parser.getValueAsDouble(); return true;
+                case "botpose_span": results.botpose_span = parser.getValueAsDouble(); return true;
+                case "botpose_avgdist": results.botpose_avgdist = parser.getValueAsDouble(); return true;
+                case "botpose_avgarea": results.botpose_avgarea = parser.getValueAsDouble(); return true;
+                case "t6c_rs": results.camerapose_robotspace = readDoubleArray(parser, results.camerapose_robotspace); return true;
+                default: break;
+            }
+        }
+        switch (name) {
+            case "Retro":
+                if (!fields.contains(ResultField.RETRO)) return false;
+                results.targets_Retro = readTargets(parser, results.targets_Retro, LimelightTarget_Retro::new, LimelightHelpers::resetRetro, LimelightHelpers::readRetroField);
+                return true;
+            case "Fiducial":
+                if (!fields.contains(ResultField.FIDUCIAL)) return false;
+                results.targets_Fiducials = readTargets(parser, results.targets_Fiducials, LimelightTarget_Fiducial::new, LimelightHelpers::resetFiducial, LimelightHelpers::readFiducialField);
+                return true;
+            case "Classifier":
+                if (!fields.contains(ResultField.CLASSIFIER)) return false;
+                results.targets_Classifier = readTargets(parser, results.targets_Classifier, LimelightTarget_Classifier::new, LimelightHelpers::resetClassifier, LimelightHelpers::readClassifierField);
+                return true;
+            case "Detector":
+                if (!fields.contains(ResultField.DETECTOR)) return false;
+                results.targets_Detector = readTargets(parser, results.targets_Detector, LimelightTarget_Detector::new, LimelightHelpers::resetDetector, LimelightHelpers::readDetectorField);
+                return true;
+            case "Barcode":
+                if (!fields.contains(ResultField.BARCODE)) return false;
+                results.targets_Barcode = readTargets(parser, results.targets_Barcode, LimelightTarget_Barcode::new, LimelightHelpers::resetBarcode, LimelightHelpers::readBarcodeField);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private interface TargetFieldReader<T> {
+        /** Reads the current field value into the target, returning false if the field is unknown. */
+        boolean read(JsonParser parser, String name, T target) throws IOException;
+    }
+
+    private static <T> T[] readTargets(JsonParser parser, T[] reuse, Supplier<T> factory, Consumer<T> reset, TargetFieldReader<T> reader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return reuse;
+        }
+        T[] out = reuse;
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            if (count == out.length) {
+                out = Arrays.copyOf(out, count + 1);
+            }
+            if (out[count] == null) {
+                out[count] = factory.get();
+            } else {
+                // A reused target must not keep values for keys this frame leaves out
+                reset.accept(out[count]);
+            }
+            T target = out[count++];
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (!reader.read(parser, name, target)) {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    private static double[] readDoubleArray(JsonParser parser, double[] reuse) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return reuse;
+        }
+        double[] out = reuse;
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (count == out.length) {
+                out = Arrays.copyOf(out, Math.max(6, count * 2));
+            }
+            out[count++] = parser.getValueAsDouble();
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    private static double[][] readCorners(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return new double[0][];
+        }
+        double[][] out = new double[4][];
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (count == out.length) {
+                out = Arrays.copyOf(out, count * 2);
+            }
+            out[count++] = readDoubleArray(parser, new double[2]);
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    /** Zeroes a reused pose array, or replaces it if an earlier frame resized it. */
+    private static double[] resetPose(double[] pose) {
+        if (pose == null || pose.length != 6) {
+            return new double[6];
+        }
+        Arrays.fill(pose, 0);
+        return pose;
+    }
+
+    // The reset methods put a reused target back in the state its constructor leaves it in
+
+    private static void resetRetro(LimelightTarget_Retro target) {
+        target.cameraPose_TargetSpace = resetPose(target.cameraPose_TargetSpace);
+        target.robotPose_FieldSpace = resetPose(target.robotPose_FieldSpace);
+        target.robotPose_TargetSpace = resetPose(target.robotPose_TargetSpace);
+        target.targetPose_CameraSpace = resetPose(target.targetPose_CameraSpace);
+        target.targetPose_RobotSpace = resetPose(target.targetPose_RobotSpace);
+        target.ta = 0;
+        target.tx = 0;
+        target.ty = 0;
+        target.tx_pixels = 0;
+        target.ty_pixels = 0;
+        target.tx_nocrosshair = 0;
+        target.ty_nocrosshair = 0;
+        target.ts = 0;
+    }
+
+    private static void resetFiducial(LimelightTarget_Fiducial target) {
+        target.fiducialID = 0;
+        target.fiducialFamily = null;
+        target.cameraPose_TargetSpace = resetPose(target.cameraPose_TargetSpace);
+        target.robotPose_FieldSpace = resetPose(target.robotPose_FieldSpace);
+        target.robotPose_TargetSpace = resetPose(target.robotPose_TargetSpace);
+        target.targetPose_CameraSpace = resetPose(target.targetPose_CameraSpace);
+        target.targetPose_RobotSpace = resetPose(target.targetPose_RobotSpace);
+        target.ta = 0;
+        target.tx = 0;
+        target.ty = 0;
+        target.tx_pixels = 0;
+        target.ty_pixels = 0;
+        target.tx_nocrosshair = 0;
+        target.ty_nocrosshair = 0;
+        target.ts = 0;
+    }
+
+    private static void resetClassifier(LimelightTarget_Classifier target) {
+        target.className = null;
+        target.classID = 0;
+        target.confidence = 0;
+        target.zone = 0;
+        target.tx = 0;
+        target.tx_pixels = 0;
+        target.ty = 0;
+        target.ty_pixels = 0;
+    }
+
+    private static void resetDetector(LimelightTarget_Detector target) {
+        target.className = null;
+        target.classID = 0;
+        target.confidence = 0;
+        target.ta = 0;
+        target.tx = 0;
+        target.ty = 0;
+        target.tx_pixels = 0;
+        target.ty_pixels = 0;
+        target.tx_nocrosshair = 0;
+        target.ty_nocrosshair = 0;
+    }
+
+    private static void resetBarcode(LimelightTarget_Barcode target) {
+        target.family = null;
+        target.data = null;
+        target.tx_pixels = 0;
+        target.ty_pixels = 0;
+        target.tx = 0;
+        target.ty = 0;
+        target.tx_nocrosshair = 0;
+        target.ty_nocrosshair = 0;
+        target.ta = 0;
+        target.corners = null;
+    }
+
+    private static boolean readRetroField(JsonParser parser, String name, LimelightTarget_Retro target) throws IOException {
+        switch (name) {
+            case "t6c_ts": target.cameraPose_TargetSpace = readDoubleArray(parser, target.cameraPose_TargetSpace); return true;
+            case "t6r_fs": target.robotPose_FieldSpace = readDoubleArray(parser, target.robotPose_FieldSpace); return true;
+            case "t6r_ts": target.robotPose_TargetSpace = readDoubleArray(parser, target.robotPose_TargetSpace); return true;
+            case "t6t_cs": target.targetPose_CameraSpace = readDoubleArray(parser, target.targetPose_CameraSpace); return true;
+            case "t6t_rs": target.targetPose_RobotSpace = readDoubleArray(parser, target.targetPose_RobotSpace); return true;
+            case "ta": target.ta = parser.getValueAsDouble(); return true;
+            case "tx": target.tx = parser.getValueAsDouble(); return true;
+            case "ty": target.ty = parser.getValueAsDouble(); return true;
+            case "txp": target.tx_pixels = parser.getValueAsDouble(); return true;
+            case "typ": target.ty_pixels = parser.getValueAsDouble(); return true;
+            case "tx_nocross": target.tx_nocrosshair = parser.getValueAsDouble(); return true;
+            case "ty_nocross": target.ty_nocrosshair = parser.getValueAsDouble(); return true;
+            case "ts": target.ts = parser.getValueAsDouble(); return true;
+            default: return false;
+        }
+    }
+
+    private static boolean readFiducialField(JsonParser parser, String name, LimelightTarget_Fiducial target) throws IOException {
+        switch (name) {
+            case "fID": target.fiducialID = parser.getValueAsDouble(); return true;
+            case "fam": target.fiducialFamily = parser.getValueAsString(); return true;
+            case "t6c_ts": target.cameraPose_TargetSpace = readDoubleArray(parser, target.cameraPose_TargetSpace); return true;
+            case "t6r_fs": target.robotPose_FieldSpace = readDoubleArray(parser, target.robotPose_FieldSpace); return true;
+            case "t6r_ts": target.robotPose_TargetSpace = readDoubleArray(parser, target.robotPose_TargetSpace); return true;
+            case "t6t_cs": target.targetPose_CameraSpace = readDoubleArray(parser, target.targetPose_CameraSpace); return true;
+            case "t6t_rs": target.targetPose_RobotSpace = readDoubleArray(parser, target.targetPose_RobotSpace); return true;
+            case "ta": target.ta = parser.getValueAsDouble(); return true;
+            case "tx": target.tx = parser.getValueAsDouble(); return true;
+            case "ty": target.ty = parser.getValueAsDouble(); return true;
+            case "txp": target.tx_pixels = parser.getValueAsDouble(); return true;
+            case "typ": target.ty_pixels = parser.getValueAsDouble(); return true;
+            case "tx_nocross": target.tx_nocrosshair = parser.getValueAsDouble(); return true;
+            case "ty_nocross": target.ty_nocrosshair = parser.getValueAsDouble(); return true;
+            case "ts": target.ts = parser.getValueAsDouble(); return true;
+            default: return false;
+        }
+    }
+
+    private static boolean readClassifierField(JsonParser parser, String name, LimelightTarget_Classifier target) throws IOException {
+        switch (name) {
+            case "class": target.className = parser.getValueAsString(); return true;
+            case "classID": target.classID = parser.getValueAsDouble(); return true;
+            case "conf": target.confidence = parser.getValueAsDouble(); return true;
+            case "zone": target.zone = parser.getValueAsDouble(); return true;
+            case "tx": target.tx = parser.getValueAsDouble(); return true;
+            case "txp": target.tx_pixels = parser.getValueAsDouble(); return true;
+            case "ty": target.ty = parser.getValueAsDouble(); return true;
+            case "typ": target.ty_pixels = parser.getValueAsDouble(); return true;
+            default: return false;
+        }
+    }
+
+    private static boolean readDetectorField(JsonParser parser, String name, LimelightTarget_Detector target) throws IOException {
+        switch (name) {
+            case "class": target.className = parser.getValueAsString(); return true;
+            case "classID": target.classID = parser.getValueAsDouble(); return true;
+            case "conf": target.confidence = parser.getValueAsDouble(); return true;
+            case "ta": target.ta = parser.getValueAsDouble(); return true;
+            case "tx": target.tx = parser.getValueAsDouble(); return true;
+            case "ty": target.ty = parser.getValueAsDouble(); return true;
+            case "txp": target.tx_pixels = parser.getValueAsDouble(); return true;
+            case "typ": target.ty_pixels = parser.getValueAsDouble(); return true;
+            case "tx_nocross": target.tx_nocrosshair = parser.getValueAsDouble(); return true;
+            case "ty_nocross": target.ty_nocrosshair = parser.getValueAsDouble(); return true;
+            default: return false;
+        }
+    }
+
+    private static boolean readBarcodeField(JsonParser parser, String name, LimelightTarget_Barcode target) throws IOException {
+        switch (name) {
+            case "fam": target.family = parser.getValueAsString(); return true;
+            case "data": target.data = parser.getValueAsString(); return true;
+            case "txp": target.tx_pixels = parser.getValueAsDouble(); return true;
+            case "typ": target.ty_pixels = parser.getValueAsDouble(); return true;
+            case "tx": target.tx = parser.getValueAsDouble(); return true;
+            case "ty": target.ty = parser.getValueAsDouble(); return true;
+            case "tx_nocross": target.tx_nocrosshair = parser.getValueAsDouble(); return true;
+            case "ty_nocross": target.ty_nocrosshair = parser.getValueAsDouble(); return true;
+            case "ta": target.ta = parser.getValueAsDouble(); return true;
+            case "pts": target.corners = readCorners(parser); return true;
+            default: return false;
+        }
+    }
 }
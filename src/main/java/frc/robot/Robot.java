@@ -4,49 +4,157 @@
 
 package frc.robot;
 
-import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.LoopWatchdog;
+import frc.robot.util.MechanismLog;
+import frc.robot.util.ReplayLog;
+import frc.robot.util.StatusSignalRegistry;
+
 public class Robot extends TimedRobot {
   private Command m_autonomousCommand;
 
   private final RobotContainer m_robotContainer;
 
+  /* Per-loop mechanism samples, one segment per match; null when replaying */
+  private final MechanismLog m_mechanismLog;
+  /* Set when auto ends, so the FMS pause before teleop doesn't split the match's segment */
+  private boolean m_autonomousEnded = false;
+
   private final boolean kUseLimelight = false;
 
+  /* Loop profiler sections for robotPeriodic */
+  private final int m_signalRefreshProfile = LoopProfiler.register("SignalRefresh");
+  /* The scheduler and the whole loop enclose other sections, so they never take the blame for an overrun */
+  private final int m_schedulerProfile = LoopProfiler.registerAggregate("CommandScheduler");
+  private final int m_visionProfile = LoopProfiler.register("Vision");
+  private final int m_robotPeriodicProfile = LoopProfiler.registerAggregate("RobotPeriodic");
+
+  /* Attributes loop overruns and sheds optional work while the loop is over budget */
+  private final LoopWatchdog m_loopWatchdog = new LoopWatchdog(getPeriod());
+
   public Robot() {
+    if (!ReplayLog.isReplaying()) {
+      /*
+       * Record subsystem inputs and outputs plus the DS state and joysticks, which is everything
+       * the replay engine needs to re-run a match. NT is left out; dashboards log it separately.
+       */
+      DataLogManager.logNetworkTables(false);
+      DataLogManager.start();
+      DriverStation.startDataLog(DataLogManager.getLog());
+    }
     m_robotContainer = new RobotContainer();
+
+    if (ReplayLog.isReplaying()) {
+      m_mechanismLog = null;
+    } else {
+      m_mechanismLog = new MechanismLog();
+      addMechanismColumns(m_mechanismLog, m_robotContainer);
+      m_mechanismLog.prepare();
+    }
+  }
+
+  private static void addMechanismColumns(MechanismLog log, RobotContainer container) {
+    var pivot = container.pivot;
+    var pivotZero = pivot.pivotZero();
+    var shooter = container.shooter;
+    var intake = container.intake;
+    var climber = container.climber;
+    var flipper = container.flipper;
+    var drivetrain = container.drivetrain;
+    log.addColumn("Robot/batteryVoltage", RobotController::getBatteryVoltage);
+    log.addColumn("Robot/brownedOut", () -> RobotController.isBrownedOut() ? 1 : 0);
+    log.addColumn("Drive/odometryPeriod", drivetrain::getOdometryPeriod);
+    log.addColumn("Pivot/position", pivot::getPosition);
+    log.addColumn("Pivot/target", pivot::getTargetPosition);
+    log.addColumn("Pivot/atZero", () -> pivotZero.getAsBoolean() ? 1 : 0);
+    log.addColumn("Shooter/innerVelocity", shooter::getInnerVelocity);
+    log.addColumn("Shooter/outerVelocity", shooter::getOuterVelocity);
+    log.addColumn("Shooter/target", shooter::getTargetSpeed);
+    log.addColumn("Shooter/atSpeed", () -> shooter.atSpeed.getAsBoolean() ? 1 : 0);
+    log.addColumn("Intake/hasNote", () -> intake.hasNote() ? 1 : 0);
+    log.addColumn("Climber/leftPosition", climber::getLeftPosition);
+    log.addColumn("Climber/rightPosition", climber::getRightPosition);
+    log.addColumn("Climber/leftAtBottom", () -> climber.isLeftAtBottom() ? 1 : 0);
+    log.addColumn("Climber/rightAtBottom", () -> climber.isRightAtBottom() ? 1 : 0);
+    log.addColumn("Flipper/position", flipper::getPosition);
+  }
+
+  /** Container for the headless sim runner to inspect subsystems after a run. */
+  RobotContainer getRobotContainer() {
+    return m_robotContainer;
   }
 
   @Override
   public void robotPeriodic() {
+    final long loopStart = LoopProfiler.start();
+    ReplayLog.beginLoop();
+
+    /* Refresh every mechanism status signal in one batch before anything reads them */
+    long start = LoopProfiler.start();
+    StatusSignalRegistry.refreshAll();
+    LoopProfiler.record(m_signalRefreshProfile, start);
+
+    start = LoopProfiler.start();
     CommandScheduler.getInstance().run();
+    LoopProfiler.record(m_schedulerProfile, start);
+
+    /* Sample the mechanisms after the scheduler so this loop's inputs are in */
+    if (m_mechanismLog != null) {
+      m_mechanismLog.append();
+    }
 
     /*
-     * This example of adding Limelight is very simple and may not be sufficient for on-field use.
-     * Users typically need to provide a standard deviation that scales with the distance to target
-     * and changes with number of tags available.
-     *
-     * This example is sufficient to show that vision integration is possible, though exact implementation
-     * of how to use vision should be tuned per-robot and to the team's specification.
+     * Fuse MegaTag2 estimates from every camera, with standard deviations scaled by
+     * tag distance, tag count and ambiguity. Runs after the scheduler so the heading
+     * sent to the cameras matches this loop's odometry.
      */
-    if (kUseLimelight) {
-      var driveState = m_robotContainer.drivetrain.getState();
-      double headingDeg = driveState.Pose.getRotation().getDegrees();
-      double omegaRps = Units.radiansToRotations(driveState.Speeds.omegaRadiansPerSecond);
-
-      LimelightHelpers.SetRobotOrientation("limelight", headingDeg, 0, 0, 0, 0, 0);
-      var llMeasurement = LimelightHelpers.getBotPoseEstimate_wpiBlue_MegaTag2("limelight");
-      if (llMeasurement != null && llMeasurement.tagCount > 0 && Math.abs(omegaRps) < 2.0) {
-        m_robotContainer.drivetrain.addVisionMeasurement(llMeasurement.pose, llMeasurement.timestampSeconds);
-      }
+    start = LoopProfiler.start();
+    if (kUseLimelight && !m_loopWatchdog.isShed(LoopWatchdog.Shed.VISION)) {
+      m_robotContainer.vision.update();
     }
+    LoopProfiler.record(m_visionProfile, start);
+
+    /* Write (or check, when replaying) every output commanded this loop */
+    ReplayLog.endLoop();
+
+    LoopProfiler.record(m_robotPeriodicProfile, loopStart);
+    m_loopWatchdog.endLoop(System.nanoTime() - loopStart);
+    applyLoadShedding();
+    LoopProfiler.publish();
+  }
+
+  /*
+   * The telemetry tiers run on their own thread but share the roboRIO's two cores with this one.
+   * The dashboard tier also drops this thread's NetworkTables work: the profiler's publishing, and
+   * the flush after every loop. Dashboards still update at the regular NetworkTables rate without it.
+   */
+  private void applyLoadShedding() {
+    Telemetry telemetry = m_robotContainer.logger;
+    telemetry.setMechanismEnabled(!m_loopWatchdog.isShed(LoopWatchdog.Shed.MECHANISM2D));
+    boolean dashboard = !m_loopWatchdog.isShed(LoopWatchdog.Shed.DASHBOARD);
+    telemetry.setDashboardEnabled(dashboard);
+    LoopProfiler.setNetworkTablesEnabled(dashboard);
+    setNetworkTablesFlushEnabled(dashboard);
   }
 
   @Override
-  public void disabledInit() {}
+  public void disabledInit() {
+    /*
+     * Close the segment whenever the robot is disabled after being enabled, so practice auto runs and
+     * test mode get their own. Only the pause between auto and teleop in an FMS match keeps it open.
+     */
+    if (!(m_autonomousEnded && DriverStation.isFMSAttached())) {
+      finishMechanismLog();
+    }
+    m_autonomousEnded = false;
+  }
 
   @Override
   public void disabledPeriodic() {}
@@ -56,6 +164,7 @@ public class Robot extends TimedRobot {
 
   @Override
   public void autonomousInit() {
+    startMechanismLog();
     m_autonomousCommand = m_robotContainer.getAutonomousCommand();
 
     if (m_autonomousCommand != null) {
@@ -67,10 +176,13 @@ public class Robot extends TimedRobot {
   public void autonomousPeriodic() {}
 
   @Override
-  public void autonomousExit() {}
+  public void autonomousExit() {
+    m_autonomousEnded = true;
+  }
 
   @Override
   public void teleopInit() {
+    startMechanismLog();
     if (m_autonomousCommand != null) {
       m_autonomousCommand.cancel();
     }
@@ -82,8 +194,21 @@ public class Robot extends TimedRobot {
   @Override
   public void teleopExit() {}
 
+  private void startMechanismLog() {
+    if (m_mechanismLog != null) {
+      m_mechanismLog.start();
+    }
+  }
+
+  private void finishMechanismLog() {
+    if (m_mechanismLog != null) {
+      m_mechanismLog.finish();
+    }
+  }
+
   @Override
   public void testInit() {
+    startMechanismLog();
     CommandScheduler.getInstance().cancelAll();
   }
 
@@ -12,6 +12,10 @@ import com.ctre.phoenix6.swerve.SwerveRequest;
 import com.pathplanner.lib.auto.AutoBuilder;
 import com.pathplanner.lib.commands.FollowPathCommand;
 
+import java.util.function.DoubleSupplier;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
@@ -24,11 +28,27 @@ import edu.wpi.first.wpilibj2.command.Commands;
 import frc.robot.generated.TunerConstants;
 import frc.robot.subsystems.CommandSwerveDrivetrain;
 import frc.robot.subsystems.Shooter;
+import frc.robot.subsystems.ShooterIO;
+import frc.robot.subsystems.ShooterIOTalonFX;
 import frc.robot.subsystems.Intake;
+import frc.robot.subsystems.IntakeIO;
+import frc.robot.subsystems.IntakeIOTalonFX;
 import frc.robot.subsystems.Pivot;
+import frc.robot.subsystems.PivotIO;
+import frc.robot.subsystems.PivotIOTalonFX;
 import frc.robot.subsystems.Climber;
+import frc.robot.subsystems.ClimberIO;
+import frc.robot.subsystems.ClimberIOTalonFX;
 import frc.robot.subsystems.Flipper;
+import frc.robot.subsystems.FlipperIO;
+import frc.robot.subsystems.FlipperIOTalonFX;
+import frc.robot.subsystems.Tunables;
 import frc.robot.commands.AmpCommand;
+import frc.robot.commands.ShootOnTheMoveCommand;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.PoseHistory;
+import frc.robot.util.ReplayLog;
+import frc.robot.util.StatusSignalRegistry;
 
 public class RobotContainer {
         // MaxSpeed removed, using Constants.drivetrainMaxSpeed
@@ -49,23 +69,38 @@ public class RobotContainer {
         private final SwerveRequest.RobotCentric forwardStraight = new SwerveRequest.RobotCentric()
                         .withDriveRequestType(DriveRequestType.OpenLoopVoltage);
 
-        private final Telemetry logger = new Telemetry(Constants.drivetrainMaxSpeed);
+        public final Telemetry logger = new Telemetry(Constants.drivetrainMaxSpeed);
 
         private final CommandXboxController joystick = new CommandXboxController(0);
 
         public final CommandSwerveDrivetrain drivetrain = TunerConstants.createDrivetrain();
-        public final Shooter shooter = new Shooter();
-        public final Intake intake = new Intake();
-        public final Climber climber = new Climber();
-        public final Flipper flipper = new Flipper();
-        public final Pivot pivot = new Pivot();
+        /* When replaying a log the mechanisms get no-op IO and their inputs come from the log */
+        public final Shooter shooter = new Shooter(
+                        ReplayLog.isReplaying() ? new ShooterIO() {} : new ShooterIOTalonFX());
+        public final Intake intake = new Intake(
+                        ReplayLog.isReplaying() ? new IntakeIO() {} : new IntakeIOTalonFX());
+        public final Climber climber = new Climber(
+                        ReplayLog.isReplaying() ? new ClimberIO() {} : new ClimberIOTalonFX());
+        public final Flipper flipper = new Flipper(
+                        ReplayLog.isReplaying() ? new FlipperIO() {} : new FlipperIOTalonFX());
+        public final Pivot pivot = new Pivot(
+                        ReplayLog.isReplaying() ? new PivotIO() {} : new PivotIOTalonFX());
+        public final Tunables tunables = new Tunables();
+        /* Recent odometry poses, for looking up where the robot was when a frame was captured */
+        public final PoseHistory poseHistory = new PoseHistory();
+        public final Vision vision = new Vision(drivetrain, poseHistory, "limelight");
+        /* Distance-indexed pivot angle and flywheel speed, from deploy/shotmap.json */
+        private final ShotMap shotMap = ShotMap.fromDeploy();
 
         /* Path follower */
         private final SendableChooser<Command> autoChooser;
-        Trigger zeroPivot = new Trigger(Pivot.pivotZero());
+        Trigger zeroPivot = new Trigger(pivot.pivotZero());
 
         public RobotContainer() {
-                zeroPivot.onTrue(Pivot.zeroEncoder());
+                // Every subsystem has declared its signals, so trim the status frames to just those
+                StatusSignalRegistry.applyUpdateFrequencies();
+
+                zeroPivot.onTrue(pivot.zeroEncoder());
                 autoChooser = AutoBuilder.buildAutoChooser("Tests");
                 SmartDashboard.putData("Auto Mode", autoChooser);
 
@@ -74,36 +109,22 @@ public class RobotContainer {
                 // Warmup PathPlanner to avoid Java pauses
                 FollowPathCommand.warmupCommand().schedule();
 
-                SmartDashboard.putNumber("Pivot Shoot Angle", Constants.pivotShootAngle);
-                SmartDashboard.putNumber("Shooter Speed", Constants.shooterSpeed);
-                SmartDashboard.putNumber("Drivetrain Max Speed", Constants.drivetrainMaxSpeed);
-
-                new Trigger(() -> SmartDashboard.getNumber("Pivot Shoot Angle",
-                                Constants.pivotShootAngle) != Constants.pivotShootAngle)
-                                .onTrue(Commands.runOnce(() -> {
-                                        Constants.pivotShootAngle = SmartDashboard.getNumber("Pivot Shoot Angle",
-                                                        Constants.pivotShootAngle);
-                                }).ignoringDisable(true));
-
-                new Trigger(() -> SmartDashboard.getNumber("Shooter Speed",
-                                Constants.shooterSpeed) != Constants.shooterSpeed)
-                                .onTrue(Commands.runOnce(() -> {
-                                        Constants.shooterSpeed = SmartDashboard.getNumber("Shooter Speed",
-                                                        Constants.shooterSpeed);
-                                }).ignoringDisable(true));
-
-                new Trigger(() -> SmartDashboard.getNumber("Drivetrain Max Speed",
-                                Constants.drivetrainMaxSpeed) != Constants.drivetrainMaxSpeed)
-                                .onTrue(Commands.runOnce(() -> {
-                                        Constants.drivetrainMaxSpeed = SmartDashboard.getNumber("Drivetrain Max Speed",
-                                                        Constants.drivetrainMaxSpeed);
-                                }).ignoringDisable(true));
+                // Dashboard tunables, applied to Constants only when the value changes
+                var pivotShootAngle = tunables.addNumber("Pivot Shoot Angle", Constants.pivotShootAngle,
+                                value -> Constants.pivotShootAngle = value);
+                var shooterSpeed = tunables.addNumber("Shooter Speed", Constants.shooterSpeed,
+                                value -> Constants.shooterSpeed = value);
+                tunables.addNumber("Shooter Idle Speed", Constants.shooterIdleSpeed,
+                                value -> Constants.shooterIdleSpeed = value);
+                var drivetrainMaxSpeed = tunables.addNumber("Drivetrain Max Speed", Constants.drivetrainMaxSpeed,
+                                value -> Constants.drivetrainMaxSpeed = value);
 
                 // Shooter Presets
                 SendableChooser<Double> shooterChooser = new SendableChooser<>();
                 shooterChooser.addOption("High (90%)", Constants.shooterSpeedHigh);
                 shooterChooser.setDefaultOption("Medium (65%)", Constants.shooterSpeedMedium);
                 shooterChooser.addOption("Low (40%)", Constants.shooterSpeedLow);
+                shooterChooser.onChange(shooterSpeed::set);
                 SmartDashboard.putData("Shooter Presets", shooterChooser);
 
                 // Pivot Presets
@@ -111,6 +132,7 @@ public class RobotContainer {
                 pivotChooser.addOption("High (20 deg)", Constants.pivotAngleHigh);
                 pivotChooser.setDefaultOption("Medium (50 deg)", Constants.pivotAngleMedium);
                 pivotChooser.addOption("Low (75 deg)", Constants.pivotAngleLow);
+                pivotChooser.onChange(pivotShootAngle::set);
                 SmartDashboard.putData("Pivot Presets", pivotChooser);
 
                 // Drive Presets
@@ -118,42 +140,18 @@ public class RobotContainer {
                 driveChooser.setDefaultOption("Indoor (4.3 m/s)", Constants.driveSpeedIndoor);
                 driveChooser.addOption("Outdoor (3.5 m/s)", Constants.driveSpeedOutdoor);
                 driveChooser.addOption("Kid Mode (1.5 m/s)", Constants.driveSpeedKid);
+                driveChooser.onChange(drivetrainMaxSpeed::set);
                 SmartDashboard.putData("Drive Presets", driveChooser);
 
-                // Monitor Choosers
-                var listener = new Object() {
-                        double lastShooter = shooterChooser.getSelected();
-                        double lastPivot = pivotChooser.getSelected();
-                        double lastDrive = driveChooser.getSelected();
-                };
-
-                new Trigger(() -> shooterChooser.getSelected() != listener.lastShooter)
-                                .onTrue(Commands.runOnce(() -> {
-                                        listener.lastShooter = shooterChooser.getSelected();
-                                        SmartDashboard.putNumber("Shooter Speed", listener.lastShooter);
-                                }).ignoringDisable(true));
-
-                new Trigger(() -> pivotChooser.getSelected() != listener.lastPivot)
-                                .onTrue(Commands.runOnce(() -> {
-                                        listener.lastPivot = pivotChooser.getSelected();
-                                        SmartDashboard.putNumber("Pivot Shoot Angle", listener.lastPivot);
-                                }).ignoringDisable(true));
-
-                new Trigger(() -> driveChooser.getSelected() != listener.lastDrive)
-                                .onTrue(Commands.runOnce(() -> {
-                                        listener.lastDrive = driveChooser.getSelected();
-                                        SmartDashboard.putNumber("Drivetrain Max Speed", listener.lastDrive);
-                                }).ignoringDisable(true));
-
                 // Schedule startup music
         }
 
         private void configureBindings() {
                 // Note that X is defined as forward according to WPILib convention,
                 // and Y is defined as to the left according to WPILib convention.
-                flipper.setDefaultCommand(flipper.holdStowCommand());
-                pivot.setDefaultCommand(pivot.stowDefault());
-                drivetrain.setDefaultCommand(
+                flipper.setDefaultCommand(LoopProfiler.profile(flipper.holdStowCommand().withName("FlipperStow")));
+                pivot.setDefaultCommand(LoopProfiler.profile(pivot.stowDefault().withName("PivotStow")));
+                drivetrain.setDefaultCommand(LoopProfiler.profile(
                                 // Drivetrain will execute this command periodically
                                 drivetrain.applyRequest(() -> drive
                                                 .withVelocityX(-joystick.getLeftY() * Constants.drivetrainMaxSpeed) // Drive
@@ -172,12 +170,12 @@ public class RobotContainer {
                                                                                                             // with
                                                                                                             // negative
                                                                                                             // X (left)
-                                ));
+                                ).withName("Drive")));
 
                 // Idle while the robot is disabled. This ensures the configured
                 // neutral mode is applied to the drive motors while disabled.
                 final var idle = new SwerveRequest.Idle();
-                AmpCommand ampCommand = new AmpCommand(flipper, pivot);
+                Command ampCommand = LoopProfiler.profile(new AmpCommand(flipper, pivot));
                 RobotModeTriggers.disabled().whileTrue(
                                 drivetrain.applyRequest(() -> idle).ignoringDisable(true));
 
@@ -191,27 +189,51 @@ public class RobotContainer {
                 // reset the field-centric heading on left bumper press
                 joystick.y().onTrue(drivetrain.runOnce(() -> drivetrain.seedFieldCentric()));
                 // flywheel control for now
-                joystick.leftBumper().whileTrue(pivot.pivotStartEnd().alongWith(shooter.shoot_StartStop()));
+                joystick.leftBumper().whileTrue(LoopProfiler.profile(
+                                pivot.pivotStartEnd().alongWith(shooter.shoot_StartStop()).withName("Shoot")));
+                // aim at the speaker while driving
+                joystick.leftTrigger().whileTrue(LoopProfiler.profile(new ShootOnTheMoveCommand(drivetrain, pivot, shooter,
+                                () -> -joystick.getLeftY() * Constants.drivetrainMaxSpeed,
+                                () -> -joystick.getLeftX() * Constants.drivetrainMaxSpeed).withName("ShootOnTheMove")));
+                // pivot and flywheels track the shot map for the current distance to the speaker
+                DoubleSupplier speakerDistance = () -> {
+                        var pose = drivetrain.getPose();
+                        boolean isRed = DriverStation.getAlliance().orElse(Alliance.Blue) == Alliance.Red;
+                        return ShotSolver.distanceToSpeaker(pose.getX(), pose.getY(), isRed);
+                };
+                joystick.rightBumper().whileTrue(LoopProfiler.profile(
+                                pivot.trackShotMap(shotMap, speakerDistance)
+                                                .alongWith(shooter.trackShotMap(shotMap, speakerDistance))
+                                                .withName("ShotMap")));
                 // intake
-                joystick.a().whileTrue(intake.intakeCommand());
+                joystick.a().whileTrue(LoopProfiler.profile(intake.intakeCommand().withName("Intake")));
                 // outake/reverse intake if note stuck
-                joystick.b().whileTrue(intake.reverseCommand());
+                joystick.b().whileTrue(LoopProfiler.profile(intake.reverseCommand().withName("ReverseIntake")));
                 // Command both Climber arms to go up
-                joystick.pov(0).whileTrue(climber.climbCommand(() -> Constants.climberSpeed));
+                joystick.pov(0).whileTrue(LoopProfiler.profile(
+                                climber.climbCommand(() -> Constants.climberSpeed).withName("ClimbUp")));
                 // Command both Climber arms to go down
-                joystick.pov(180).whileTrue(climber.climbCommand(() -> -Constants.climberSpeed));
+                joystick.pov(180).whileTrue(LoopProfiler.profile(
+                                climber.climbCommand(() -> -Constants.climberSpeed).withName("ClimbDown")));
 
                 // Amp Command
                 joystick.x().whileTrue(ampCommand);
 
                 // Indexer control: Reverse if Amp command is running, otherwise normal
-                joystick.rightTrigger().whileTrue(
+                joystick.rightTrigger().whileTrue(LoopProfiler.profile(
                                 Commands.either(
                                                 intake.reverseIndexerCommand(),
-                                                intake.indexer(),
-                                                ampCommand::isScheduled));
-
-                drivetrain.registerTelemetry(logger::telemeterize);
+                                                // wait for the flywheels if they're spinning up for a shot
+                                                Commands.either(
+                                                                shooter.fireWhenReady(intake),
+                                                                intake.indexer(),
+                                                                shooter::isSpinning),
+                                                ampCommand::isScheduled).withName("Indexer")));
+
+                drivetrain.registerTelemetry(state -> {
+                        poseHistory.add(state);
+                        logger.telemeterize(state);
+                });
         }
 
         public Command getAutonomousCommand() {
@@ -0,0 +1,126 @@
+package frc.robot;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+
+/**
+ * Distance-indexed pivot angle and flywheel speed setpoints for stationary shots at the speaker.
+ * <p>
+ * Calibration points are loaded from {@code shotmap.json} in the deploy directory and resampled
+ * at startup onto evenly spaced buckets held in primitive arrays. A lookup is then one divide to
+ * find the bucket and a linear interpolation to the next one, regardless of how many calibration
+ * points there are. Distances outside the calibrated range clamp to the nearest end.
+ */
+public class ShotMap {
+    private static final String kFileName = "shotmap.json";
+
+    private final double m_minDistance;
+    private final double m_bucketSize;
+    private final double[] m_pivotAngles;
+    private final double[] m_shooterSpeeds;
+
+    /**
+     * Builds a map from calibration points.
+     *
+     * @param bucketSize    Spacing of the resampled buckets in meters
+     * @param distances     Calibration distances in meters, strictly increasing
+     * @param pivotAngles   Pivot angle at each distance, in {@link Constants#pivotShootAngle} units
+     * @param shooterSpeeds Flywheel speed at each distance in rotations per second
+     */
+    public ShotMap(double bucketSize, double[] distances, double[] pivotAngles, double[] shooterSpeeds) {
+        if (distances.length == 0 || distances.length != pivotAngles.length || distances.length != shooterSpeeds.length) {
+            throw new IllegalArgumentException("Shot map needs the same nonzero number of distances, angles and speeds");
+        }
+        for (int i = 1; i < distances.length; ++i) {
+            if (distances[i] <= distances[i - 1]) {
+                throw new IllegalArgumentException("Shot map distances must be strictly increasing");
+            }
+        }
+
+        m_minDistance = distances[0];
+        m_bucketSize = bucketSize;
+        int buckets = (int) Math.ceil((distances[distances.length - 1] - m_minDistance) / bucketSize) + 1;
+        m_pivotAngles = new double[buckets];
+        m_shooterSpeeds = new double[buckets];
+
+        int segment = 0;
+        for (int i = 0; i < buckets; ++i) {
+            double distance = Math.min(m_minDistance + i * bucketSize, distances[distances.length - 1]);
+            while (segment < distances.length - 2 && distance > distances[segment + 1]) {
+                ++segment;
+            }
+            if (distances.length == 1) {
+                m_pivotAngles[i] = pivotAngles[0];
+                m_shooterSpeeds[i] = shooterSpeeds[0];
+                continue;
+            }
+            double t = (distance - distances[segment]) / (distances[segment + 1] - distances[segment]);
+            m_pivotAngles[i] = pivotAngles[segment] + (pivotAngles[segment + 1] - pivotAngles[segment]) * t;
+            m_shooterSpeeds[i] = shooterSpeeds[segment] + (shooterSpeeds[segment + 1] - shooterSpeeds[segment]) * t;
+        }
+    }
+
+    /** Loads the map from the deploy directory, falling back to the medium preset if it can't be read. */
+    public static ShotMap fromDeploy() {
+        File file = new File(Filesystem.getDeployDirectory(), kFileName);
+        try {
+            JsonNode root = new ObjectMapper().readTree(file);
+            JsonNode points = root.get("points");
+            double[] distances = new double[points.size()];
+            double[] pivotAngles = new double[points.size()];
+            double[] shooterSpeeds = new double[points.size()];
+            for (int i = 0; i < points.size(); ++i) {
+                JsonNode point = points.get(i);
+                distances[i] = point.get("distance").asDouble();
+                pivotAngles[i] = point.get("pivotAngle").asDouble();
+                shooterSpeeds[i] = point.get("shooterRps").asDouble();
+            }
+            return new ShotMap(root.get("bucketSize").asDouble(), distances, pivotAngles, shooterSpeeds);
+        } catch (IOException | RuntimeException e) {
+            DriverStation.reportError("ShotMap: could not load " + kFileName + ", using the medium preset: " + e.getMessage(), false);
+            return new ShotMap(1.0,
+                new double[] {0.0},
+                new double[] {Constants.pivotAngleMedium},
+                new double[] {Constants.shooterSpeedMedium});
+        }
+    }
+
+    private double bucketPosition(double distance) {
+        double position = (distance - m_minDistance) / m_bucketSize;
+        return Math.max(0, Math.min(position, m_pivotAngles.length - 1));
+    }
+
+    private static double interpolate(double[] values, double position) {
+        int index = (int) position;
+        if (index >= values.length - 1) {
+            return values[values.length - 1];
+        }
+        return values[index] + (values[index + 1] - values[index]) * (position - index);
+    }
+
+    /**
+     * Pivot angle for a shot from a distance.
+     *
+     * @param distance Distance to the speaker in meters
+     * @return Pivot angle in {@link Constants#pivotShootAngle} units
+     */
+    public double getPivotAngle(double distance) {
+        return interpolate(m_pivotAngles, bucketPosition(distance));
+    }
+
+    /**
+     * Flywheel speed for a shot from a distance.
+     *
+     * @param distance Distance to the speaker in meters
+     * @return Flywheel speed in rotations per second
+     */
+    public double getShooterSpeed(double distance) {
+        return interpolate(m_shooterSpeeds, bucketPosition(distance));
+    }
+}
@@ -0,0 +1,183 @@
+package frc.robot;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+
+/**
+ * Solves pivot angle, flywheel speed and robot heading for shooting at the speaker while moving.
+ * <p>
+ * The note leaves the robot carrying the robot's field velocity, so instead of aiming at the
+ * speaker we aim at a virtual target offset by that velocity times the time of flight. Time of
+ * flight depends on distance to the virtual target, so the two are refined for a fixed number of
+ * iterations, which keeps the worst-case solve time fixed. Each iteration picks a flywheel speed
+ * from distance and solves the launch angle from projectile motion. Nothing is allocated; results
+ * are read from the getters after {@link #solve}.
+ */
+public class ShotSolver {
+    private static final double kGravity = 9.81;
+
+    /* Speaker opening center in blue-origin field coordinates */
+    private static final double kBlueSpeakerX = 0.0;
+    private static final double kRedSpeakerX = 16.54;
+    private static final double kSpeakerY = 5.55;
+    private static final double kSpeakerHeight = 2.05;
+    /* Height of the note as it leaves the shooter */
+    private static final double kReleaseHeight = 0.30;
+
+    /*
+     * kExitEfficiency, kRpsAtZero, kRpsPerMeter and kPivotAngleOffsetDeg are least-squares fits to
+     * the points in deploy/shotmap.json, not measurements. The speed line fits within 2.3 rps. The
+     * projectile model, with the fitted efficiency and offset, matches the table's pivot angles to
+     * about 5 degrees RMS, worst at the ends. Refit them whenever shotmap.json is recalibrated, and
+     * check the efficiency against measured exit velocity before relying on moving shots.
+     */
+
+    /* Exit velocity per flywheel rotation per second: 4 in wheels with some slip */
+    private static final double kWheelCircumference = Math.PI * 0.1016;
+    private static final double kExitEfficiency = 0.48;
+
+    /* Flywheel speed grows with distance between the low and high presets */
+    private static final double kRpsAtZero = 27;
+    private static final double kRpsPerMeter = 14.5;
+    private static final double kMinRps = Constants.shooterSpeedLow;
+    private static final double kMaxRps = Constants.shooterSpeedHigh;
+
+    /* Launch angle above horizontal is the pivot angle plus this */
+    private static final double kPivotAngleOffsetDeg = -1.6;
+    private static final double kMinPivotAngleDeg = 0;
+    private static final double kMaxPivotAngleDeg = 90;
+
+    /*
+     * Virtual target refinements. With the constants above, at up to 2 m/s 4 refinements land
+     * within 0.5 cm of the converged target, where 3 leave about 1.3 cm. Near max range above
+     * about 3 m/s the refinement oscillates by centimeters to decimeters whatever the count.
+     */
+    private static final int kIterations = 4;
+
+    private double m_pivotAngleDeg;
+    private double m_flywheelRps;
+    private double m_headingRad;
+    private double m_distance;
+    private double m_timeOfFlight;
+    private double m_virtualTargetX;
+    private double m_virtualTargetY;
+
+    /**
+     * Straight-line distance from a robot position to the speaker opening, ignoring height.
+     *
+     * @param x     Robot X in meters
+     * @param y     Robot Y in meters
+     * @param isRed Whether to measure to the red speaker
+     * @return Distance in meters
+     */
+    public static double distanceToSpeaker(double x, double y, boolean isRed) {
+        return Math.hypot((isRed ? kRedSpeakerX : kBlueSpeakerX) - x, kSpeakerY - y);
+    }
+
+    /**
+     * Solves for a drivetrain pose and velocity.
+     *
+     * @param pose   Robot pose
+     * @param speeds Robot-relative speeds
+     * @param isRed  Whether to aim at the red speaker
+     */
+    public void solve(Pose2d pose, ChassisSpeeds speeds, boolean isRed) {
+        double heading = pose.getRotation().getRadians();
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        double vx = speeds.vxMetersPerSecond * cos - speeds.vyMetersPerSecond * sin;
+        double vy = speeds.vxMetersPerSecond * sin + speeds.vyMetersPerSecond * cos;
+        solve(pose.getX(), pose.getY(), vx, vy, isRed);
+    }
+
+    /**
+     * Solves for a robot position and field-relative velocity.
+     *
+     * @param x     Robot X in meters
+     * @param y     Robot Y in meters
+     * @param vx    Field-relative robot X velocity in meters per second
+     * @param vy    Field-relative robot Y velocity in meters per second
+     * @param isRed Whether to aim at the red speaker
+     */
+    public void solve(double x, double y, double vx, double vy, boolean isRed) {
+        double targetX = isRed ? kRedSpeakerX : kBlueSpeakerX;
+        double targetY = kSpeakerY;
+
+        double virtualX = targetX;
+        double virtualY = targetY;
+        for (int i = 0; i < kIterations; ++i) {
+            solveStationary(Math.hypot(virtualX - x, virtualY - y));
+            virtualX = targetX - vx * m_timeOfFlight;
+            virtualY = targetY - vy * m_timeOfFlight;
+        }
+        /* Final solve against the converged virtual target */
+        solveStationary(Math.hypot(virtualX - x, virtualY - y));
+
+        m_virtualTargetX = virtualX;
+        m_virtualTargetY = virtualY;
+        m_headingRad = Math.atan2(virtualY - y, virtualX - x);
+    }
+
+    /** Picks flywheel speed and launch angle for a stationary shot at a distance. */
+    private void solveStationary(double distance) {
+        m_distance = distance;
+        m_flywheelRps = MathUtil.clamp(kRpsAtZero + kRpsPerMeter * distance, kMinRps, kMaxRps);
+
+        double dh = kSpeakerHeight - kReleaseHeight;
+        double v = m_flywheelRps * kWheelCircumference * kExitEfficiency;
+        double v2 = v * v;
+        double disc = v2 * v2 - kGravity * (kGravity * distance * distance + 2 * dh * v2);
+        if (disc < 0 && m_flywheelRps < kMaxRps) {
+            /* Out of range at the scheduled speed, try full speed */
+            m_flywheelRps = kMaxRps;
+            v = kMaxRps * kWheelCircumference * kExitEfficiency;
+            v2 = v * v;
+            disc = v2 * v2 - kGravity * (kGravity * distance * distance + 2 * dh * v2);
+        }
+
+        /* Low (direct) trajectory, or the max-range angle if the speaker is out of reach */
+        double launchAngle = disc < 0
+            ? Math.PI / 4
+            : Math.atan2(v2 - Math.sqrt(disc), kGravity * distance);
+
+        m_pivotAngleDeg = MathUtil.clamp(
+            Math.toDegrees(launchAngle) - kPivotAngleOffsetDeg, kMinPivotAngleDeg, kMaxPivotAngleDeg);
+        m_timeOfFlight = distance / (v * Math.cos(launchAngle));
+    }
+
+    /** Pivot angle in the same units as {@link Constants#pivotShootAngle}. */
+    public double getPivotAngleDegrees() {
+        return m_pivotAngleDeg;
+    }
+
+    /** Flywheel speed in rotations per second, in the same units as {@link Constants#shooterSpeed}. */
+    public double getFlywheelRps() {
+        return m_flywheelRps;
+    }
+
+    /** Field-relative (blue origin) robot heading in radians that points the shooter at the virtual target. */
+    public double getHeadingRadians() {
+        return m_headingRad;
+    }
+
+    /** Distance to the virtual target in meters. */
+    public double getDistance() {
+        return m_distance;
+    }
+
+    /** Time of flight to the virtual target in seconds. */
+    public double getTimeOfFlight() {
+        return m_timeOfFlight;
+    }
+
+    /** Virtual target X in meters. */
+    public double getVirtualTargetX() {
+        return m_virtualTargetX;
+    }
+
+    /** Virtual target Y in meters. */
+    public double getVirtualTargetY() {
+        return m_virtualTargetY;
+    }
+}
@@ -1,8 +1,12 @@
 package frc.robot;
 
 import com.ctre.phoenix6.SignalLogger;
+import com.ctre.phoenix6.Utils;
 import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
@@ -11,8 +15,8 @@ import edu.wpi.first.networktables.DoubleArrayPublisher;
 import edu.wpi.first.networktables.DoublePublisher;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.RawPublisher;
 import edu.wpi.first.networktables.StringPublisher;
-import edu.wpi.first.networktables.StructArrayPublisher;
 import edu.wpi.first.networktables.StructPublisher;
 import edu.wpi.first.wpilibj.smartdashboard.Mechanism2d;
 import edu.wpi.first.wpilibj.smartdashboard.MechanismLigament2d;
@@ -20,8 +24,43 @@ import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj.util.Color;
 import edu.wpi.first.wpilibj.util.Color8Bit;
 
+import frc.robot.util.DoubleRingBuffer;
+
 public class Telemetry {
+    /* Default publish periods for the decimated tiers */
+    private static final double kDefaultDashboardPeriod = 0.02; // 50 Hz
+    private static final double kDefaultMechanismPeriod = 0.1; // 10 Hz
+
+    /* Consumer thread wakeup period while the ring is empty */
+    private static final long kConsumerSleepMs = 5;
+    /* 64 slots is ~250 ms of odometry at 250 Hz */
+    private static final int kRingCapacity = 64;
+
+    /* Layout of one drive state slot in the ring */
+    private static final int kTimestamp = 0;
+    private static final int kOdometryPeriod = 1;
+    private static final int kPose = 2; // x, y, heading (rad)
+    private static final int kSpeeds = 5; // vx, vy, omega
+    private static final int kModuleStates = 8; // (angle rad, speed) x4
+    private static final int kModuleTargets = 16; // (angle rad, speed) x4
+    private static final int kModulePositions = 24; // (angle rad, distance) x4
+    private static final int kSlotWidth = 32;
+
     private final double MaxSpeed;
+    private final double m_dashboardPeriod;
+    private final double m_mechanismPeriod;
+
+    /* Drive states handed from the odometry thread to the consumer thread */
+    private final DoubleRingBuffer m_ring = new DoubleRingBuffer(kRingCapacity, kSlotWidth);
+    private final Thread m_consumer = new Thread(this::consumerLoop, "Telemetry");
+
+    /* Timestamps of the last publish for each decimated tier, owned by the consumer thread */
+    private double m_lastDashboardTime = Double.NEGATIVE_INFINITY;
+    private double m_lastMechanismTime = Double.NEGATIVE_INFINITY;
+
+    /* Decimated tiers can be shed by the loop watchdog; the log file tier never is */
+    private volatile boolean m_dashboardEnabled = true;
+    private volatile boolean m_mechanismEnabled = true;
 
     /**
      * Construct a telemetry object, with the specified max speed of the robot
@@ -29,8 +68,54 @@ public class Telemetry {
      * @param maxSpeed Maximum speed in meters per second
      */
     public Telemetry(double maxSpeed) {
+        this(maxSpeed, kDefaultDashboardPeriod, kDefaultMechanismPeriod);
+    }
+
+    /**
+     * Construct a telemetry object with the specified max speed of the robot and publish periods.
+     * <p>
+     * The log file always receives every odometry update. NetworkTables topics and the
+     * Mechanism2d visuals are decimated to the given periods.
+     *
+     * @param maxSpeed        Maximum speed in meters per second
+     * @param dashboardPeriod Period between NetworkTables drive state publishes in seconds
+     * @param mechanismPeriod Period between Mechanism2d updates in seconds
+     */
+    public Telemetry(double maxSpeed, double dashboardPeriod, double mechanismPeriod) {
+        this(maxSpeed, dashboardPeriod, mechanismPeriod, true);
+    }
+
+    /**
+     * Construct a telemetry object with the default publish periods that can leave the consumer
+     * thread unstarted, so benchmarks and tests can drain the ring themselves with {@link #drain()}.
+     */
+    Telemetry(double maxSpeed, boolean startConsumer) {
+        this(maxSpeed, kDefaultDashboardPeriod, kDefaultMechanismPeriod, startConsumer);
+    }
+
+    private Telemetry(double maxSpeed, double dashboardPeriod, double mechanismPeriod, boolean startConsumer) {
         MaxSpeed = maxSpeed;
+        m_dashboardPeriod = dashboardPeriod;
+        m_mechanismPeriod = mechanismPeriod;
         SignalLogger.start();
+
+        /* Schemas for the raw struct topics, which a StructPublisher would have added itself */
+        inst.addSchema(Pose2d.struct);
+        inst.addSchema(SwerveModuleState.struct);
+        inst.addSchema(SwerveModulePosition.struct);
+
+        /* Constant topics and Sendables only need to be published once, not every odometry update */
+        fieldTypePub.set("Field2d");
+        for (int i = 0; i < 4; ++i) {
+            SmartDashboard.putData("Module " + i, m_moduleMechanisms[i]);
+        }
+
+        /* Publishing is best-effort, so keep it out of the way of the main and odometry threads */
+        m_consumer.setDaemon(true);
+        m_consumer.setPriority(Thread.MIN_PRIORITY);
+        if (startConsumer) {
+            m_consumer.start();
+        }
     }
 
     /* What to publish over networktables for telemetry */
@@ -38,13 +123,20 @@ public class Telemetry {
 
     /* Robot swerve drive state */
     private final NetworkTable driveStateTable = inst.getTable("DriveState");
-    private final StructPublisher<Pose2d> drivePose = driveStateTable.getStructTopic("Pose", Pose2d.struct).publish();
+    /*
+     * Rotation2d and Pose2d are immutable, so building them for every publish would allocate.
+     * These topics are published as raw bytes in the WPILib struct layout instead, which
+     * dashboards decode exactly like a StructPublisher's.
+     */
+    private final RawPublisher drivePose = publishStruct("Pose", Pose2d.struct.getTypeString());
     private final StructPublisher<ChassisSpeeds> driveSpeeds = driveStateTable.getStructTopic("Speeds", ChassisSpeeds.struct).publish();
-    private final StructArrayPublisher<SwerveModuleState> driveModuleStates = driveStateTable.getStructArrayTopic("ModuleStates", SwerveModuleState.struct).publish();
-    private final StructArrayPublisher<SwerveModuleState> driveModuleTargets = driveStateTable.getStructArrayTopic("ModuleTargets", SwerveModuleState.struct).publish();
-    private final StructArrayPublisher<SwerveModulePosition> driveModulePositions = driveStateTable.getStructArrayTopic("ModulePositions", SwerveModulePosition.struct).publish();
+    private final RawPublisher driveModuleStates = publishStruct("ModuleStates", SwerveModuleState.struct.getTypeString() + "[]");
+    private final RawPublisher driveModuleTargets = publishStruct("ModuleTargets", SwerveModuleState.struct.getTypeString() + "[]");
+    private final RawPublisher driveModulePositions = publishStruct("ModulePositions", SwerveModulePosition.struct.getTypeString() + "[]");
     private final DoublePublisher driveTimestamp = driveStateTable.getDoubleTopic("Timestamp").publish();
     private final DoublePublisher driveOdometryFrequency = driveStateTable.getDoubleTopic("OdometryFrequency").publish();
+    private final DoublePublisher telemetryDropped = driveStateTable.getDoubleTopic("TelemetryDropped").publish();
+    private final DoublePublisher telemetryOverflows = driveStateTable.getDoubleTopic("TelemetryOverflows").publish();
 
     /* Robot pose for field positioning */
     private final NetworkTable table = inst.getTable("Pose");
@@ -77,48 +169,177 @@ public class Telemetry {
             .append(new MechanismLigament2d("Direction", 0.1, 0, 0, new Color8Bit(Color.kWhite))),
     };
 
+    /* Consumer-side scratch arrays and objects, reused for every slot */
     private final double[] m_poseArray = new double[3];
+    private final double[] m_speedsArray = new double[3];
     private final double[] m_moduleStatesArray = new double[8];
     private final double[] m_moduleTargetsArray = new double[8];
+    private final ChassisSpeeds m_speeds = new ChassisSpeeds();
+    /* Struct-layout buffers: Pose2d is x, y, heading; module states and positions are (value, angle) x4 */
+    private final ByteBuffer m_poseBuffer = ByteBuffer.allocateDirect(3 * 8).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer m_moduleStatesBuffer = ByteBuffer.allocateDirect(8 * 8).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer m_moduleTargetsBuffer = ByteBuffer.allocateDirect(8 * 8).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer m_modulePositionsBuffer = ByteBuffer.allocateDirect(8 * 8).order(ByteOrder.LITTLE_ENDIAN);
+
+    private RawPublisher publishStruct(String name, String typeString) {
+        return driveStateTable.getRawTopic(name).publish(typeString);
+    }
 
-    /** Accept the swerve drive state and telemeterize it to SmartDashboard and SignalLogger. */
+    /**
+     * Accept the swerve drive state and queue it for telemetry.
+     * <p>
+     * This runs on the odometry thread for every odometry update, so it only copies the
+     * state into a preallocated ring slot. Logging and publishing happen on the
+     * telemetry consumer thread.
+     */
     public void telemeterize(SwerveDriveState state) {
-        /* Telemeterize the swerve drive state */
-        drivePose.set(state.Pose);
-        driveSpeeds.set(state.Speeds);
-        driveModuleStates.set(state.ModuleStates);
-        driveModuleTargets.set(state.ModuleTargets);
-        driveModulePositions.set(state.ModulePositions);
-        driveTimestamp.set(state.Timestamp);
-        driveOdometryFrequency.set(1.0 / state.OdometryPeriod);
-
-        /* Also write to log file */
-        m_poseArray[0] = state.Pose.getX();
-        m_poseArray[1] = state.Pose.getY();
-        m_poseArray[2] = state.Pose.getRotation().getDegrees();
+        int slot = m_ring.beginWrite();
+        if (slot < 0) {
+            /* Ring is full, the consumer has fallen behind */
+            return;
+        }
+
+        double[] data = m_ring.data();
+        data[slot + kTimestamp] = state.Timestamp;
+        data[slot + kOdometryPeriod] = state.OdometryPeriod;
+        data[slot + kPose + 0] = state.Pose.getX();
+        data[slot + kPose + 1] = state.Pose.getY();
+        data[slot + kPose + 2] = state.Pose.getRotation().getRadians();
+        data[slot + kSpeeds + 0] = state.Speeds.vxMetersPerSecond;
+        data[slot + kSpeeds + 1] = state.Speeds.vyMetersPerSecond;
+        data[slot + kSpeeds + 2] = state.Speeds.omegaRadiansPerSecond;
         for (int i = 0; i < 4; ++i) {
-            m_moduleStatesArray[i*2 + 0] = state.ModuleStates[i].angle.getRadians();
-            m_moduleStatesArray[i*2 + 1] = state.ModuleStates[i].speedMetersPerSecond;
-            m_moduleTargetsArray[i*2 + 0] = state.ModuleTargets[i].angle.getRadians();
-            m_moduleTargetsArray[i*2 + 1] = state.ModuleTargets[i].speedMetersPerSecond;
+            data[slot + kModuleStates + i*2 + 0] = state.ModuleStates[i].angle.getRadians();
+            data[slot + kModuleStates + i*2 + 1] = state.ModuleStates[i].speedMetersPerSecond;
+            data[slot + kModuleTargets + i*2 + 0] = state.ModuleTargets[i].angle.getRadians();
+            data[slot + kModuleTargets + i*2 + 1] = state.ModuleTargets[i].speedMetersPerSecond;
+            data[slot + kModulePositions + i*2 + 0] = state.ModulePositions[i].angle.getRadians();
+            data[slot + kModulePositions + i*2 + 1] = state.ModulePositions[i].distanceMeters;
         }
+        m_ring.commitWrite();
+    }
 
-        SignalLogger.writeDoubleArray("DriveState/Pose", m_poseArray);
-        SignalLogger.writeDoubleArray("DriveState/ModuleStates", m_moduleStatesArray);
-        SignalLogger.writeDoubleArray("DriveState/ModuleTargets", m_moduleTargetsArray);
-        SignalLogger.writeDouble("DriveState/OdometryPeriod", state.OdometryPeriod, "seconds");
+    /** Number of drive states dropped because the telemetry thread fell behind. */
+    public long getDroppedCount() {
+        return m_ring.getDroppedCount();
+    }
 
-        /* Telemeterize the pose to a Field2d */
-        fieldTypePub.set("Field2d");
-        fieldPub.set(m_poseArray);
+    /** Number of times the telemetry ring filled up. */
+    public long getOverflowCount() {
+        return m_ring.getOverflowCount();
+    }
 
-        /* Telemeterize the module states to a Mechanism2d */
-        for (int i = 0; i < 4; ++i) {
-            m_moduleSpeeds[i].setAngle(state.ModuleStates[i].angle);
-            m_moduleDirections[i].setAngle(state.ModuleStates[i].angle);
-            m_moduleSpeeds[i].setLength(state.ModuleStates[i].speedMetersPerSecond / (2 * MaxSpeed));
+    /**
+     * Enable or disable the NetworkTables drive state and Field2d tier. The log file still
+     * receives every odometry update while this is off.
+     */
+    public void setDashboardEnabled(boolean enabled) {
+        m_dashboardEnabled = enabled;
+    }
 
-            SmartDashboard.putData("Module " + i, m_moduleMechanisms[i]);
+    /** Enable or disable the Mechanism2d module visuals. */
+    public void setMechanismEnabled(boolean enabled) {
+        m_mechanismEnabled = enabled;
+    }
+
+    /** Id of the telemetry consumer thread, for allocation checks. */
+    long getConsumerThreadId() {
+        return m_consumer.getId();
+    }
+
+    /** Logs and publishes every queued drive state on the calling thread. */
+    void drain() {
+        int slot;
+        while ((slot = m_ring.beginRead()) >= 0) {
+            publish(m_ring.data(), slot);
+            m_ring.commitRead();
+        }
+    }
+
+    /** Drops every queued drive state without publishing it. */
+    void discardQueued() {
+        while (m_ring.beginRead() >= 0) {
+            m_ring.commitRead();
+        }
+    }
+
+    private void consumerLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            drain();
+            try {
+                Thread.sleep(kConsumerSleepMs);
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private void publish(double[] data, int slot) {
+        double timestamp = data[slot + kTimestamp];
+        double odometryPeriod = data[slot + kOdometryPeriod];
+        /* The slot is logged after the fact, so tell the logger how old it is */
+        double latency = Utils.getCurrentTimeSeconds() - timestamp;
+
+        /* Write every update to the log file */
+        m_poseArray[0] = data[slot + kPose + 0];
+        m_poseArray[1] = data[slot + kPose + 1];
+        m_poseArray[2] = Math.toDegrees(data[slot + kPose + 2]);
+        m_speedsArray[0] = data[slot + kSpeeds + 0];
+        m_speedsArray[1] = data[slot + kSpeeds + 1];
+        m_speedsArray[2] = data[slot + kSpeeds + 2];
+        System.arraycopy(data, slot + kModuleStates, m_moduleStatesArray, 0, 8);
+        System.arraycopy(data, slot + kModuleTargets, m_moduleTargetsArray, 0, 8);
+
+        SignalLogger.writeDoubleArray("DriveState/Pose", m_poseArray, "", latency);
+        SignalLogger.writeDoubleArray("DriveState/Speeds", m_speedsArray, "", latency);
+        SignalLogger.writeDoubleArray("DriveState/ModuleStates", m_moduleStatesArray, "", latency);
+        SignalLogger.writeDoubleArray("DriveState/ModuleTargets", m_moduleTargetsArray, "", latency);
+        SignalLogger.writeDouble("DriveState/OdometryPeriod", odometryPeriod, "seconds", latency);
+
+        /* Telemeterize the swerve drive state to NetworkTables at the dashboard rate */
+        if (m_dashboardEnabled && timestamp - m_lastDashboardTime >= m_dashboardPeriod) {
+            m_lastDashboardTime = timestamp;
+
+            m_speeds.vxMetersPerSecond = m_speedsArray[0];
+            m_speeds.vyMetersPerSecond = m_speedsArray[1];
+            m_speeds.omegaRadiansPerSecond = m_speedsArray[2];
+            m_poseBuffer.putDouble(0, m_poseArray[0]);
+            m_poseBuffer.putDouble(8, m_poseArray[1]);
+            m_poseBuffer.putDouble(16, data[slot + kPose + 2]);
+            for (int i = 0; i < 4; ++i) {
+                /* Value first, then angle, matching the struct schemas */
+                m_moduleStatesBuffer.putDouble(i*16 + 0, m_moduleStatesArray[i*2 + 1]);
+                m_moduleStatesBuffer.putDouble(i*16 + 8, m_moduleStatesArray[i*2 + 0]);
+                m_moduleTargetsBuffer.putDouble(i*16 + 0, m_moduleTargetsArray[i*2 + 1]);
+                m_moduleTargetsBuffer.putDouble(i*16 + 8, m_moduleTargetsArray[i*2 + 0]);
+                m_modulePositionsBuffer.putDouble(i*16 + 0, data[slot + kModulePositions + i*2 + 1]);
+                m_modulePositionsBuffer.putDouble(i*16 + 8, data[slot + kModulePositions + i*2 + 0]);
+            }
+
+            drivePose.set(m_poseBuffer, 0, m_poseBuffer.capacity());
+            driveSpeeds.set(m_speeds);
+            driveModuleStates.set(m_moduleStatesBuffer, 0, m_moduleStatesBuffer.capacity());
+            driveModuleTargets.set(m_moduleTargetsBuffer, 0, m_moduleTargetsBuffer.capacity());
+            driveModulePositions.set(m_modulePositionsBuffer, 0, m_modulePositionsBuffer.capacity());
+            driveTimestamp.set(timestamp);
+            driveOdometryFrequency.set(1.0 / odometryPeriod);
+            telemetryDropped.set(m_ring.getDroppedCount());
+            telemetryOverflows.set(m_ring.getOverflowCount());
+
+            /* Telemeterize the pose to a Field2d */
+            fieldPub.set(m_poseArray);
+        }
+
+        /* Telemeterize the module states to a Mechanism2d at the visual rate */
+        if (m_mechanismEnabled && timestamp - m_lastMechanismTime >= m_mechanismPeriod) {
+            m_lastMechanismTime = timestamp;
+
+            for (int i = 0; i < 4; ++i) {
+                double angleDeg = Math.toDegrees(m_moduleStatesArray[i*2 + 0]);
+                m_moduleSpeeds[i].setAngle(angleDeg);
+                m_moduleDirections[i].setAngle(angleDeg);
+                m_moduleSpeeds[i].setLength(m_moduleStatesArray[i*2 + 1] / (2 * MaxSpeed));
+            }
         }
     }
 }
@@ -0,0 +1,250 @@
+package frc.robot;
+
+import com.ctre.phoenix6.Utils;
+
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.networktables.DoubleArraySubscriber;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.PubSubOption;
+import edu.wpi.first.networktables.TimestampedDoubleArray;
+import edu.wpi.first.wpilibj.Timer;
+
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.util.PoseHistory;
+
+/**
+ * Fuses Limelight MegaTag2 pose estimates from one or more cameras into the drivetrain pose estimator.
+ * <p>
+ * Each camera's {@code botpose_orb_wpiblue} topic is subscribed with a small NT queue so every frame
+ * is seen exactly once, with its own timestamp. Nothing is read or parsed for a camera on loops
+ * where it published no new frame. Frames are parsed into a fixed pool of reusable {@link Estimate}s,
+ * passed through a {@link VisionGate}, given standard deviations that grow with tag distance and
+ * ambiguity and shrink with tag count, and handed to the drivetrain oldest first.
+ */
+public class Vision {
+    /* Frames buffered per camera between loops; a camera runs well under 4 frames per 20 ms */
+    private static final int kQueueDepth = 4;
+
+    /* XY standard deviation in meters for a single unambiguous tag at 1 m; scales with distance squared */
+    private static final double kXyStdDevCoefficient = 0.05;
+    /* How much a fully ambiguous tag inflates the XY standard deviation */
+    private static final double kAmbiguityScale = 4.0;
+    /* MegaTag2 heading comes from our own gyro, so don't let vision correct it */
+    private static final double kThetaStdDev = 9999999;
+
+    /**
+     * A MegaTag pose estimate parsed in place from a botpose array.
+     * Fiducial data is stored in parallel primitive arrays sized for {@link #kMaxTags} tags.
+     */
+    public static class Estimate {
+        public static final int kMaxTags = 16;
+        private static final int kValsPerFiducial = 7;
+
+        public double x;
+        public double y;
+        public double yawDegrees;
+        public double timestampSeconds;
+        public double latency;
+        public int tagCount;
+        public double tagSpan;
+        public double avgTagDist;
+        public double avgTagArea;
+
+        /* Number of valid entries in the fiducial arrays, at most kMaxTags */
+        public int fiducialCount;
+        public final int[] fiducialIds = new int[kMaxTags];
+        public final double[] fiducialDistToCamera = new double[kMaxTags];
+        public final double[] fiducialDistToRobot = new double[kMaxTags];
+        public final double[] fiducialAmbiguity = new double[kMaxTags];
+        public double avgAmbiguity;
+
+        /**
+         * Parses a botpose array in the same layout as {@link LimelightHelpers#getBotPoseEstimate_wpiBlue_MegaTag2}.
+         *
+         * @param data            Botpose array from the camera
+         * @param timestampMicros NT receive timestamp of the array in microseconds
+         * @return Whether the array held a pose
+         */
+        public boolean parse(double[] data, long timestampMicros) {
+            if (data.length < 11) {
+                return false;
+            }
+            x = data[0];
+            y = data[1];
+            yawDegrees = data[5];
+            latency = data[6];
+            tagCount = (int) data[7];
+            tagSpan = data[8];
+            avgTagDist = data[9];
+            avgTagArea = data[10];
+
+            /* Convert receive timestamp from microseconds to seconds and adjust for latency */
+            timestampSeconds = (timestampMicros / 1000000.0) - (latency / 1000.0);
+
+            fiducialCount = 0;
+            avgAmbiguity = 0;
+            if (data.length == 11 + kValsPerFiducial * tagCount) {
+                fiducialCount = Math.min(tagCount, kMaxTags);
+                for (int i = 0; i < fiducialCount; ++i) {
+                    int base = 11 + i * kValsPerFiducial;
+                    fiducialIds[i] = (int) data[base];
+                    fiducialDistToCamera[i] = data[base + 4];
+                    fiducialDistToRobot[i] = data[base + 5];
+                    fiducialAmbiguity[i] = data[base + 6];
+                    avgAmbiguity += fiducialAmbiguity[i];
+                }
+                if (fiducialCount > 0) {
+                    avgAmbiguity /= fiducialCount;
+                }
+            }
+            return true;
+        }
+
+        /** Builds the estimated pose. Only call for estimates that will be used. */
+        public Pose2d toPose2d() {
+            return new Pose2d(x, y, Rotation2d.fromDegrees(yawDegrees));
+        }
+    }
+
+    /** Queue subscription for one camera. */
+    private static class Camera {
+        final String name;
+        final DoubleArraySubscriber botPose;
+        long lastChange = 0;
+
+        Camera(String limelightName) {
+            name = limelightName;
+            NetworkTable table = LimelightHelpers.getLimelightNTTable(limelightName);
+            botPose = table.getDoubleArrayTopic("botpose_orb_wpiblue").subscribe(
+                new double[0],
+                PubSubOption.keepDuplicates(true),
+                PubSubOption.pollStorage(kQueueDepth));
+        }
+    }
+
+    private final CommandSwerveDrivetrain m_drivetrain;
+    private final PoseHistory m_poseHistory;
+    private final Camera[] m_cameras;
+    private final VisionGate m_gate = VisionGate.fromNavGrid();
+
+    /* Fixed pool of estimates for one loop, kQueueDepth per camera, and their timestamp order */
+    private final Estimate[] m_estimates;
+    private final int[] m_order;
+    private int m_estimateCount = 0;
+
+    /* Reused for every measurement; the drivetrain copies it when the measurement is added */
+    private final Matrix<N3, N1> m_stdDevs = new Matrix<>(N3.instance, N1.instance);
+    /* Odometry pose at an estimate's capture time */
+    private final double[] m_capturePose = new double[3];
+
+    /**
+     * Constructs the vision fusion for a set of Limelights.
+     *
+     * @param drivetrain     Drivetrain to add vision measurements to
+     * @param poseHistory    Odometry history to compare estimates against at their capture time
+     * @param limelightNames Names of the Limelights' NetworkTables
+     */
+    public Vision(CommandSwerveDrivetrain drivetrain, PoseHistory poseHistory, String... limelightNames) {
+        m_drivetrain = drivetrain;
+        m_poseHistory = poseHistory;
+
+        m_cameras = new Camera[limelightNames.length];
+        for (int i = 0; i < limelightNames.length; ++i) {
+            m_cameras[i] = new Camera(limelightNames[i]);
+        }
+
+        m_estimates = new Estimate[limelightNames.length * kQueueDepth];
+        m_order = new int[m_estimates.length];
+        for (int i = 0; i < m_estimates.length; ++i) {
+            m_estimates[i] = new Estimate();
+        }
+    }
+
+    /** Sends the robot heading to the cameras and fuses any new pose estimates. Call once per loop. */
+    public void update() {
+        var pose = m_drivetrain.getPose();
+        var speeds = m_drivetrain.getSpeeds();
+        double headingDeg = pose.getRotation().getDegrees();
+        double speedMps = Math.hypot(speeds.vxMetersPerSecond, speeds.vyMetersPerSecond);
+        double omegaRps = Units.radiansToRotations(speeds.omegaRadiansPerSecond);
+
+        m_estimateCount = 0;
+        for (Camera camera : m_cameras) {
+            /* MegaTag2 needs the current heading every loop */
+            LimelightHelpers.SetRobotOrientation_NoFlush(camera.name, headingDeg, 0, 0, 0, 0, 0);
+            collect(camera);
+        }
+        LimelightHelpers.Flush();
+
+        if (m_estimateCount == 0) {
+            return;
+        }
+
+        /* Insertion sort by timestamp; there are only a handful of estimates per loop */
+        for (int i = 0; i < m_estimateCount; ++i) {
+            int index = i;
+            double timestamp = m_estimates[index].timestampSeconds;
+            int j = i - 1;
+            while (j >= 0 && m_estimates[m_order[j]].timestampSeconds > timestamp) {
+                m_order[j + 1] = m_order[j];
+                --j;
+            }
+            m_order[j + 1] = index;
+        }
+
+        double now = Timer.getFPGATimestamp();
+        for (int i = 0; i < m_estimateCount; ++i) {
+            Estimate estimate = m_estimates[m_order[i]];
+            VisionGate.Result result;
+            if (m_poseHistory.sample(Utils.fpgaToCurrentTime(estimate.timestampSeconds), m_capturePose)) {
+                /* Compare against where odometry thought we were when the frame was captured */
+                result = m_gate.check(estimate, m_capturePose[0], m_capturePose[1], speedMps, omegaRps, 0);
+            } else {
+                result = m_gate.check(
+                    estimate, pose.getX(), pose.getY(),
+                    speedMps, omegaRps, now - estimate.timestampSeconds
+                );
+            }
+            if (result != VisionGate.Result.ACCEPTED) {
+                continue;
+            }
+            computeStdDevs(estimate);
+            m_drivetrain.addVisionMeasurement(estimate.toPose2d(), estimate.timestampSeconds, m_stdDevs);
+        }
+        m_gate.publish();
+    }
+
+    /** Parses a camera's new frames into the estimate pool. */
+    private void collect(Camera camera) {
+        /* Skip the queue entirely if the camera hasn't published since last loop */
+        long lastChange = camera.botPose.getLastChange();
+        if (lastChange == camera.lastChange) {
+            return;
+        }
+        camera.lastChange = lastChange;
+
+        for (TimestampedDoubleArray sample : camera.botPose.readQueue()) {
+            if (m_estimateCount == m_estimates.length) {
+                break;
+            }
+            Estimate estimate = m_estimates[m_estimateCount];
+            if (estimate.parse(sample.value, sample.timestamp)) {
+                ++m_estimateCount;
+            }
+        }
+    }
+
+    /** Fills {@link #m_stdDevs} for an estimate. */
+    private void computeStdDevs(Estimate estimate) {
+        double xyStdDev = kXyStdDevCoefficient * estimate.avgTagDist * estimate.avgTagDist / estimate.tagCount;
+        xyStdDev *= 1 + kAmbiguityScale * estimate.avgAmbiguity;
+        m_stdDevs.set(0, 0, xyStdDev);
+        m_stdDevs.set(1, 0, xyStdDev);
+        m_stdDevs.set(2, 0, kThetaStdDev);
+    }
+}
@@ -0,0 +1,174 @@
+package frc.robot;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+
+/**
+ * Decides whether a vision pose estimate is safe to hand to the pose estimator.
+ * <p>
+ * {@link #check} only does arithmetic on its arguments and the gate's counters, so it can be
+ * driven from a recorded sequence of estimates and odometry poses as easily as from the robot.
+ * Every decision is counted by {@link Result}, and {@link #publish()} sends the counts to
+ * NetworkTables under {@code Vision/Gate/}.
+ */
+public class VisionGate {
+    /** Outcome of gating one estimate. */
+    public enum Result {
+        ACCEPTED,
+        NO_TAGS,
+        SPINNING,
+        OUT_OF_FIELD,
+        POSE_JUMP,
+        AMBIGUOUS,
+    }
+
+    /* Matches the PathPlanner field if navgrid.json can't be read */
+    private static final double kDefaultFieldLength = 16.54;
+    private static final double kDefaultFieldWidth = 8.21;
+
+    /* How far outside the field walls the robot center may appear, for estimate noise */
+    private static final double kFieldMargin = 0.25;
+    /* MegaTag2 lags the gyro while spinning quickly */
+    private static final double kMaxOmegaRps = 2.0;
+    /* Allowed distance from odometry on top of how far the robot could have moved */
+    private static final double kJumpTolerance = 1.0;
+    /* Single-tag estimates with ambiguity above this are rejected */
+    private static final double kMaxSingleTagAmbiguity = 0.3;
+    /*
+     * After this many consecutive jump rejections odometry is assumed to be the one that's wrong
+     * (e.g. right after boot), and multi-tag estimates are let through to re-seed it
+     */
+    private static final int kMaxConsecutiveJumps = 10;
+
+    private static final Result[] kResults = Result.values();
+
+    private final double m_fieldLength;
+    private final double m_fieldWidth;
+
+    private final long[] m_counts = new long[kResults.length];
+    private int m_consecutiveJumps = 0;
+
+    private IntegerPublisher[] m_countPublishers;
+
+    /**
+     * Constructs a gate for a field of the given size.
+     *
+     * @param fieldLength Field length along X in meters
+     * @param fieldWidth  Field width along Y in meters
+     */
+    public VisionGate(double fieldLength, double fieldWidth) {
+        m_fieldLength = fieldLength;
+        m_fieldWidth = fieldWidth;
+    }
+
+    /** Constructs a gate using the field size from the deployed PathPlanner navgrid.json. */
+    public static VisionGate fromNavGrid() {
+        File navGrid = new File(Filesystem.getDeployDirectory(), "pathplanner/navgrid.json");
+        try {
+            JsonNode fieldSize = new ObjectMapper().readTree(navGrid).get("field_size");
+            return new VisionGate(fieldSize.get("x").asDouble(), fieldSize.get("y").asDouble());
+        } catch (IOException | NullPointerException e) {
+            DriverStation.reportWarning("VisionGate: could not read field size from navgrid.json, using defaults", false);
+            return new VisionGate(kDefaultFieldLength, kDefaultFieldWidth);
+        }
+    }
+
+    /**
+     * Gates one estimate and counts the result.
+     *
+     * @param estimate       Vision estimate to check
+     * @param odometryX      Odometry X in meters to compare against
+     * @param odometryY      Odometry Y in meters to compare against
+     * @param speedMps       Robot translational speed in meters per second
+     * @param omegaRps       Robot angular velocity in rotations per second
+     * @param elapsedSeconds Time between the estimate's capture and the odometry pose
+     * @return Why the estimate was accepted or rejected
+     */
+    public Result check(
+        Vision.Estimate estimate,
+        double odometryX,
+        double odometryY,
+        double speedMps,
+        double omegaRps,
+        double elapsedSeconds
+    ) {
+        Result result = evaluate(estimate, odometryX, odometryY, speedMps, omegaRps, elapsedSeconds);
+        ++m_counts[result.ordinal()];
+        return result;
+    }
+
+    private Result evaluate(
+        Vision.Estimate estimate,
+        double odometryX,
+        double odometryY,
+        double speedMps,
+        double omegaRps,
+        double elapsedSeconds
+    ) {
+        if (estimate.tagCount <= 0) {
+            return Result.NO_TAGS;
+        }
+        if (Math.abs(omegaRps) >= kMaxOmegaRps) {
+            return Result.SPINNING;
+        }
+        if (estimate.x < -kFieldMargin || estimate.x > m_fieldLength + kFieldMargin ||
+            estimate.y < -kFieldMargin || estimate.y > m_fieldWidth + kFieldMargin) {
+            return Result.OUT_OF_FIELD;
+        }
+        if (estimate.tagCount == 1 && estimate.avgAmbiguity > kMaxSingleTagAmbiguity) {
+            return Result.AMBIGUOUS;
+        }
+
+        double maxJump = kJumpTolerance + Math.abs(speedMps * elapsedSeconds);
+        double dx = estimate.x - odometryX;
+        double dy = estimate.y - odometryY;
+        if (dx * dx + dy * dy > maxJump * maxJump) {
+            if (++m_consecutiveJumps <= kMaxConsecutiveJumps || estimate.tagCount < 2) {
+                return Result.POSE_JUMP;
+            }
+        }
+        m_consecutiveJumps = 0;
+        return Result.ACCEPTED;
+    }
+
+    /**
+     * Number of estimates that ended with the given result.
+     *
+     * @param result Result to count
+     * @return Count since construction or the last {@link #resetCounts()}
+     */
+    public long getCount(Result result) {
+        return m_counts[result.ordinal()];
+    }
+
+    /** Clears all counters, e.g. between recorded sequences. */
+    public void resetCounts() {
+        for (int i = 0; i < m_counts.length; ++i) {
+            m_counts[i] = 0;
+        }
+        m_consecutiveJumps = 0;
+    }
+
+    /** Publishes the counters to NetworkTables. */
+    public void publish() {
+        if (m_countPublishers == null) {
+            NetworkTable table = NetworkTableInstance.getDefault().getTable("Vision").getSubTable("Gate");
+            m_countPublishers = new IntegerPublisher[kResults.length];
+            for (int i = 0; i < kResults.length; ++i) {
+                m_countPublishers[i] = table.getIntegerTopic(kResults[i].name()).publish();
+            }
+        }
+        for (int i = 0; i < m_counts.length; ++i) {
+            m_countPublishers[i].set(m_counts[i]);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.commands;
+
+import java.util.function.DoubleSupplier;
+
+import com.ctre.phoenix6.swerve.SwerveRequest;
+import com.ctre.phoenix6.swerve.SwerveModule.DriveRequestType;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.ShotSolver;
+import frc.robot.subsystems.CommandSwerveDrivetrain;
+import frc.robot.subsystems.Pivot;
+import frc.robot.subsystems.Shooter;
+
+/**
+ * Lets the driver translate while the drivetrain holds the heading, and the pivot and flywheels
+ * track the setpoints, from the {@link ShotSolver} for the current pose and velocity.
+ */
+public class ShootOnTheMoveCommand extends Command {
+  private final CommandSwerveDrivetrain drivetrain;
+  private final Pivot pivot;
+  private final Shooter shooter;
+  private final DoubleSupplier velocityX;
+  private final DoubleSupplier velocityY;
+
+  private final ShotSolver solver = new ShotSolver();
+  private final SwerveRequest.FieldCentricFacingAngle facing = new SwerveRequest.FieldCentricFacingAngle()
+      .withDriveRequestType(DriveRequestType.OpenLoopVoltage);
+
+  /**
+   * @param drivetrain Drivetrain to aim
+   * @param pivot      Pivot to aim
+   * @param shooter    Flywheels to spin up
+   * @param velocityX  Driver X velocity in meters per second, operator perspective
+   * @param velocityY  Driver Y velocity in meters per second, operator perspective
+   */
+  public ShootOnTheMoveCommand(CommandSwerveDrivetrain drivetrain, Pivot pivot, Shooter shooter,
+      DoubleSupplier velocityX, DoubleSupplier velocityY) {
+    addRequirements(drivetrain, pivot, shooter);
+    this.drivetrain = drivetrain;
+    this.pivot = pivot;
+    this.shooter = shooter;
+    this.velocityX = velocityX;
+    this.velocityY = velocityY;
+    facing.HeadingController.setPID(7, 0, 0);
+    facing.HeadingController.enableContinuousInput(-Math.PI, Math.PI);
+  }
+
+  @Override
+  public void execute() {
+    boolean isRed = DriverStation.getAlliance().orElse(Alliance.Blue) == Alliance.Red;
+    solver.solve(drivetrain.getPose(), drivetrain.getSpeeds(), isRed);
+
+    // The facing request's target is in operator perspective, which is rotated 180 degrees on red
+    double heading = solver.getHeadingRadians() + (isRed ? Math.PI : 0);
+    drivetrain.setControl(facing
+        .withVelocityX(velocityX.getAsDouble())
+        .withVelocityY(velocityY.getAsDouble())
+        .withTargetDirection(Rotation2d.fromRadians(heading)));
+    pivot.pivotTo(solver.getPivotAngleDegrees());
+    shooter.startWheels(solver.getFlywheelRps());
+  }
+
+  @Override
+  public void end(boolean interrupted) {
+    shooter.stopWheels();
+  }
+
+  @Override
+  public boolean isFinished() {
+    return false;
+  }
+}
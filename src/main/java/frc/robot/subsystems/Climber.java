@@ -3,40 +3,46 @@ package frc.robot.subsystems;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import edu.wpi.first.wpilibj2.command.Command;
 
-import frc.robot.Constants;
-
-import com.ctre.phoenix6.hardware.TalonFX;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.ReplayLog;
 
 import java.util.function.DoubleSupplier;
 
-import com.ctre.phoenix6.configs.TalonFXConfiguration;
-import com.ctre.phoenix6.signals.NeutralModeValue;
-import com.ctre.phoenix6.signals.ReverseLimitTypeValue;
-import com.ctre.phoenix6.signals.ReverseLimitValue;
-import com.ctre.phoenix6.signals.InvertedValue;
+import com.ctre.phoenix6.controls.VoltageOut;
 
 public class Climber extends SubsystemBase {
 
-  private final TalonFX climberL = new TalonFX(19);
-  private final TalonFX climberR = new TalonFX(49);
-
-  public Climber() {
-    TalonFXConfiguration cfg = new TalonFXConfiguration();
-    cfg.SoftwareLimitSwitch.withForwardSoftLimitEnable(true);
-    cfg.SoftwareLimitSwitch.withForwardSoftLimitThreshold(Constants.climberMaxHeight);
-    cfg.HardwareLimitSwitch.withReverseLimitAutosetPositionEnable(true);
-    cfg.HardwareLimitSwitch.withReverseLimitAutosetPositionValue(0);
-    cfg.HardwareLimitSwitch.withReverseLimitType(ReverseLimitTypeValue.NormallyOpen);
-    cfg.HardwareLimitSwitch.withReverseLimitEnable(true);
-    cfg.MotorOutput.withNeutralMode(NeutralModeValue.Coast);
-
-    // Apply to Left (Inverted)
-    cfg.MotorOutput.withInverted(InvertedValue.CounterClockwise_Positive);
-    climberL.getConfigurator().apply(cfg);
-
-    // Apply to Right (Not Inverted)
-    cfg.MotorOutput.withInverted(InvertedValue.Clockwise_Positive);
-    climberR.getConfigurator().apply(cfg);
+  private final ClimberIO io;
+  /* Updated at the start of every loop in periodic() */
+  private final ClimberIO.Inputs inputs = new ClimberIO.Inputs();
+  private final ReplayLog.InputChannel inputsLog = ReplayLog.inputs("Climber", inputs);
+  private final int periodicProfile = LoopProfiler.register("Climber.periodic");
+  private final ReplayLog.OutputChannel leftLog = ReplayLog.outputs("Climber/left");
+  private final ReplayLog.OutputChannel rightLog = ReplayLog.outputs("Climber/right");
+
+  private final VoltageOut leftRequest = new VoltageOut(0);
+  private final VoltageOut rightRequest = new VoltageOut(0);
+
+  public Climber(ClimberIO io) {
+    this.io = io;
+  }
+
+  @Override
+  public void periodic() {
+    final long start = LoopProfiler.start();
+    io.updateInputs(inputs);
+    inputsLog.process();
+    LoopProfiler.record(periodicProfile, start);
+  }
+
+  private void setLeftVoltage(double volts) {
+    io.setLeftControl(leftRequest.withOutput(volts));
+    leftLog.record(leftRequest);
+  }
+
+  private void setRightVoltage(double volts) {
+    io.setRightControl(rightRequest.withOutput(volts));
+    rightLog.record(rightRequest);
   }
 
   public Command climbCommand(DoubleSupplier yAxisPercentage) {
@@ -52,48 +58,68 @@ public class Climber extends SubsystemBase {
 
       @Override
       public void execute() {
-        climberL.getPosition().refresh();
-        climberR.getPosition().refresh();
-        climberL.getReverseLimit().refresh();
-        climberR.getReverseLimit().refresh();
-
         // Check limits and latch stop state if hit
-        if (climberL.getReverseLimit().getValue() == ReverseLimitValue.ClosedToGround) {
+        if (inputs.leftReverseLimitClosed) {
           stopLeft = true;
         }
-        if (climberR.getReverseLimit().getValue() == ReverseLimitValue.ClosedToGround) {
+        if (inputs.rightReverseLimitClosed) {
           stopRight = true;
         }
 
         // Calculate target voltages (negative for down, positive for up)
-        double targetVoltsL = -getTargetVoltage(yAxisPercentage, Math.abs(climberL.getPosition().getValueAsDouble()));
-        double targetVoltsR = -getTargetVoltage(yAxisPercentage, Math.abs(climberR.getPosition().getValueAsDouble()));
+        double targetVoltsL = -getTargetVoltage(yAxisPercentage, Math.abs(inputs.leftPosition));
+        double targetVoltsR = -getTargetVoltage(yAxisPercentage, Math.abs(inputs.rightPosition));
 
         // Apply voltages with latching logic
         // If latched (limit hit) AND trying to go DOWN (negative voltage), force 0
         if (stopLeft && targetVoltsL < 0) {
-          climberL.setVoltage(0);
+          setLeftVoltage(0);
         } else {
-          climberL.setVoltage(targetVoltsL);
+          setLeftVoltage(targetVoltsL);
         }
 
         if (stopRight && targetVoltsR < 0) {
-          climberR.setVoltage(0);
+          setRightVoltage(0);
         } else {
-          climberR.setVoltage(targetVoltsR);
+          setRightVoltage(targetVoltsR);
         }
       }
 
       @Override
       public void end(boolean interrupted) {
-        climberL.setVoltage(0);
-        climberR.setVoltage(0);
+        setLeftVoltage(0);
+        setRightVoltage(0);
       }
     };
     cmd.addRequirements(this);
     return cmd;
   }
 
+  /** Left arm position in rotor rotations, as of the start of this loop. */
+  public double getLeftPosition() {
+    return inputs.leftPosition;
+  }
+
+  /** Right arm position in rotor rotations, as of the start of this loop. */
+  public double getRightPosition() {
+    return inputs.rightPosition;
+  }
+
+  /** Whether the left arm's bottom limit switch is closed. */
+  public boolean isLeftAtBottom() {
+    return inputs.leftReverseLimitClosed;
+  }
+
+  /** Whether the right arm's bottom limit switch is closed. */
+  public boolean isRightAtBottom() {
+    return inputs.rightReverseLimitClosed;
+  }
+
+  @Override
+  public void simulationPeriodic() {
+    io.simulationPeriodic();
+  }
+
   private double getTargetVoltage(DoubleSupplier yAxisPercentage, double motorPosition) {
     var percent = yAxisPercentage.getAsDouble();
     if (percent > 0.15) {
@@ -104,4 +130,4 @@ public class Climber extends SubsystemBase {
     return 0;
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.controls.ControlRequest;
+
+import frc.robot.util.ReplayInputs;
+
+/** Hardware layer for the {@link Climber}. The default methods do nothing, which is what replay uses. */
+public interface ClimberIO {
+  /** Climber sensor readings for one loop. */
+  class Inputs implements ReplayInputs {
+    public double leftPosition; // rotor rotations
+    public double rightPosition; // rotor rotations
+    public boolean leftReverseLimitClosed;
+    public boolean rightReverseLimitClosed;
+
+    @Override
+    public int size() {
+      return 4;
+    }
+
+    @Override
+    public void toArray(double[] out) {
+      out[0] = leftPosition;
+      out[1] = rightPosition;
+      out[2] = leftReverseLimitClosed ? 1 : 0;
+      out[3] = rightReverseLimitClosed ? 1 : 0;
+    }
+
+    @Override
+    public void fromArray(double[] in) {
+      leftPosition = in[0];
+      rightPosition = in[1];
+      leftReverseLimitClosed = in[2] != 0;
+      rightReverseLimitClosed = in[3] != 0;
+    }
+  }
+
+  default void updateInputs(Inputs inputs) {}
+
+  default void setLeftControl(ControlRequest request) {}
+
+  default void setRightControl(ControlRequest request) {}
+
+  default void simulationPeriodic() {}
+}
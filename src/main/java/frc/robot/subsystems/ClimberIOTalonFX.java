@@ -0,0 +1,109 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.controls.ControlRequest;
+import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.signals.InvertedValue;
+import com.ctre.phoenix6.signals.NeutralModeValue;
+import com.ctre.phoenix6.signals.ReverseLimitTypeValue;
+import com.ctre.phoenix6.signals.ReverseLimitValue;
+import com.ctre.phoenix6.sim.ChassisReference;
+import com.ctre.phoenix6.sim.TalonFXSimState;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.ElevatorSim;
+
+import frc.robot.Constants;
+import frc.robot.util.StatusSignalRegistry;
+
+/** Climber arms on TalonFXs, with simulated elevators when running in simulation. */
+public class ClimberIOTalonFX implements ClimberIO {
+  private final TalonFX climberL = new TalonFX(19);
+  private final TalonFX climberR = new TalonFX(49);
+
+  /* Refreshed once per loop by the StatusSignalRegistry */
+  private final StatusSignal<Angle> leftPosition = climberL.getPosition();
+  private final StatusSignal<Angle> rightPosition = climberR.getPosition();
+  private final StatusSignal<ReverseLimitValue> leftReverseLimit = climberL.getReverseLimit();
+  private final StatusSignal<ReverseLimitValue> rightReverseLimit = climberR.getReverseLimit();
+
+  /*
+   * Elevator plants for simulation, sized so climberMaxHeight rotor rotations is full travel.
+   * The reverse limit closes at the bottom.
+   */
+  private static final double kSimPeriod = 0.02;
+  private static final double kSimGearing = 20.0;
+  private static final double kSimDrumRadius = 0.02; // meters
+  private static final double kSimMetersPerRotorRotation = 2 * Math.PI * kSimDrumRadius / kSimGearing;
+  private static final double kSimMaxHeight = Constants.climberMaxHeight * kSimMetersPerRotorRotation;
+  private static final double kSimLimitHeight = 0.002; // meters
+  private final ElevatorSim leftSim = new ElevatorSim(
+      DCMotor.getKrakenX60(1), kSimGearing, 2.0, kSimDrumRadius, 0, kSimMaxHeight, true, 0);
+  private final ElevatorSim rightSim = new ElevatorSim(
+      DCMotor.getKrakenX60(1), kSimGearing, 2.0, kSimDrumRadius, 0, kSimMaxHeight, true, 0);
+
+  public ClimberIOTalonFX() {
+    TalonFXConfiguration cfg = new TalonFXConfiguration();
+    cfg.SoftwareLimitSwitch.withForwardSoftLimitEnable(true);
+    cfg.SoftwareLimitSwitch.withForwardSoftLimitThreshold(Constants.climberMaxHeight);
+    cfg.HardwareLimitSwitch.withReverseLimitAutosetPositionEnable(true);
+    cfg.HardwareLimitSwitch.withReverseLimitAutosetPositionValue(0);
+    cfg.HardwareLimitSwitch.withReverseLimitType(ReverseLimitTypeValue.NormallyOpen);
+    cfg.HardwareLimitSwitch.withReverseLimitEnable(true);
+    cfg.MotorOutput.withNeutralMode(NeutralModeValue.Coast);
+
+    // Apply to Left (Inverted)
+    cfg.MotorOutput.withInverted(InvertedValue.CounterClockwise_Positive);
+    climberL.getConfigurator().apply(cfg);
+
+    // Apply to Right (Not Inverted)
+    cfg.MotorOutput.withInverted(InvertedValue.Clockwise_Positive);
+    climberR.getConfigurator().apply(cfg);
+    climberR.getSimState().Orientation = ChassisReference.Clockwise_Positive;
+
+    // Only read while climbing, so the loop rate is plenty
+    StatusSignalRegistry.register("", 50, leftPosition, rightPosition, leftReverseLimit, rightReverseLimit);
+    StatusSignalRegistry.addDevices("", climberL, climberR);
+  }
+
+  @Override
+  public void updateInputs(Inputs inputs) {
+    inputs.leftPosition = leftPosition.getValueAsDouble();
+    inputs.rightPosition = rightPosition.getValueAsDouble();
+    inputs.leftReverseLimitClosed = leftReverseLimit.getValue() == ReverseLimitValue.ClosedToGround;
+    inputs.rightReverseLimitClosed = rightReverseLimit.getValue() == ReverseLimitValue.ClosedToGround;
+  }
+
+  @Override
+  public void setLeftControl(ControlRequest request) {
+    climberL.setControl(request);
+  }
+
+  @Override
+  public void setRightControl(ControlRequest request) {
+    climberR.setControl(request);
+  }
+
+  @Override
+  public void simulationPeriodic() {
+    updateSim(climberL.getSimState(), leftSim);
+    updateSim(climberR.getSimState(), rightSim);
+  }
+
+  private static void updateSim(TalonFXSimState simState, ElevatorSim elevator) {
+    simState.setSupplyVoltage(RobotController.getBatteryVoltage());
+    elevator.setInputVoltage(simState.getMotorVoltage());
+    elevator.update(kSimPeriod);
+
+    simState.setRawRotorPosition(elevator.getPositionMeters() / kSimMetersPerRotorRotation);
+    simState.setRotorVelocity(elevator.getVelocityMetersPerSecond() / kSimMetersPerRotorRotation);
+    simState.setReverseLimit(elevator.getPositionMeters() <= kSimLimitHeight);
+  }
+}
@@ -18,6 +18,7 @@ import com.pathplanner.lib.controllers.PPHolonomicDriveController;
 import edu.wpi.first.math.Matrix;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.numbers.N1;
 import edu.wpi.first.math.numbers.N3;
 import edu.wpi.first.wpilibj.DriverStation;
@@ -28,7 +29,11 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
 
+import frc.robot.Constants;
 import frc.robot.generated.TunerConstants.TunerSwerveDrivetrain;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.ReplayInputs;
+import frc.robot.util.ReplayLog;
 
 /**
  * Class that extends the Phoenix 6 SwerveDrivetrain class and implements
@@ -46,6 +51,57 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
     /* Keep track if we've ever applied the operator perspective before or not */
     private boolean m_hasAppliedOperatorPerspective = false;
 
+    /* Loop profiler handle for periodic() */
+    private final int m_periodicProfile = LoopProfiler.register("Drivetrain.periodic");
+
+    /** Estimated pose and robot-relative speeds for one loop, the drivetrain's replayable inputs. */
+    public static class DriveInputs implements ReplayInputs {
+        public double timestamp;
+        public double x;
+        public double y;
+        public double theta;
+        public double vx;
+        public double vy;
+        public double omega;
+        public double odometryPeriod;
+
+        @Override
+        public int size() {
+            return 8;
+        }
+
+        @Override
+        public void toArray(double[] out) {
+            out[0] = timestamp;
+            out[1] = x;
+            out[2] = y;
+            out[3] = theta;
+            out[4] = vx;
+            out[5] = vy;
+            out[6] = omega;
+            out[7] = odometryPeriod;
+        }
+
+        @Override
+        public void fromArray(double[] in) {
+            timestamp = in[0];
+            x = in[1];
+            y = in[2];
+            theta = in[3];
+            vx = in[4];
+            vy = in[5];
+            omega = in[6];
+            odometryPeriod = in[7];
+        }
+    }
+
+    /* Snapshot of the odometry state at the start of each loop, recorded or replayed */
+    private final DriveInputs m_inputs = new DriveInputs();
+    private final ReplayLog.InputChannel m_inputsLog = ReplayLog.inputs("Drive", m_inputs);
+    private final ReplayLog.OutputChannel m_outputLog = ReplayLog.outputs("Drive/request");
+    private Pose2d m_pose = Pose2d.kZero;
+    private final ChassisSpeeds m_speeds = new ChassisSpeeds();
+
     /** Swerve request to apply during robot-centric path following */
     private final SwerveRequest.ApplyRobotSpeeds m_pathApplyRobotSpeeds = new SwerveRequest.ApplyRobotSpeeds();
 
@@ -199,9 +255,9 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
         try {
             var config = RobotConfig.fromGUISettings();
             AutoBuilder.configure(
-                () -> getState().Pose,   // Supplier of current robot pose
+                this::getPose,           // Supplier of current robot pose
                 this::resetPose,         // Consumer for seeding pose against auto
-                () -> getState().Speeds, // Supplier of current robot speeds
+                this::getSpeeds,         // Supplier of current robot speeds
                 // Consumer of ChassisSpeeds and feedforwards to drive the robot
                 (speeds, feedforwards) -> setControl(
                     m_pathApplyRobotSpeeds.withSpeeds(speeds)
@@ -210,9 +266,9 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
                 ),
                 new PPHolonomicDriveController(
                     // PID constants for translation
-                    new PIDConstants(10, 0, 0),
+                    new PIDConstants(Constants.autoTranslationKP, Constants.autoTranslationKI, Constants.autoTranslationKD),
                     // PID constants for rotation
-                    new PIDConstants(7, 0, 0)
+                    new PIDConstants(Constants.autoRotationKP, Constants.autoRotationKI, Constants.autoRotationKD)
                 ),
                 config,
                 // Assume the path needs to be flipped for Red vs Blue, this is normally the case
@@ -234,6 +290,47 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
         return run(() -> this.setControl(requestSupplier.get()));
     }
 
+    /**
+     * Applies a control request and records it for replay. Every request to the drivetrain,
+     * including those from commands and the path follower, goes through here.
+     *
+     * @param request Request to apply
+     */
+    @Override
+    public void setControl(SwerveRequest request) {
+        super.setControl(request);
+        m_outputLog.record(request);
+    }
+
+    /**
+     * Estimated robot pose as of the start of this loop. Unlike {@link #getState()}, this is the
+     * recorded pose when replaying a log.
+     *
+     * @return Field-relative pose, blue origin
+     */
+    public Pose2d getPose() {
+        return m_pose;
+    }
+
+    /**
+     * Robot-relative chassis speeds as of the start of this loop. Unlike {@link #getState()}, these
+     * are the recorded speeds when replaying a log. Do not modify the returned object.
+     *
+     * @return Robot-relative speeds
+     */
+    public ChassisSpeeds getSpeeds() {
+        return m_speeds;
+    }
+
+    /**
+     * Period of the most recent odometry update as of the start of this loop.
+     *
+     * @return Odometry period in seconds
+     */
+    public double getOdometryPeriod() {
+        return m_inputs.odometryPeriod;
+    }
+
     /**
      * Runs the SysId Quasistatic test in the given direction for the routine
      * specified by {@link #m_sysIdRoutineToApply}.
@@ -258,6 +355,24 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
 
     @Override
     public void periodic() {
+        final long start = LoopProfiler.start();
+
+        /* Snapshot odometry once so everything this loop sees the same (or the recorded) pose */
+        final var state = getState();
+        m_inputs.timestamp = state.Timestamp;
+        m_inputs.x = state.Pose.getX();
+        m_inputs.y = state.Pose.getY();
+        m_inputs.theta = state.Pose.getRotation().getRadians();
+        m_inputs.vx = state.Speeds.vxMetersPerSecond;
+        m_inputs.vy = state.Speeds.vyMetersPerSecond;
+        m_inputs.omega = state.Speeds.omegaRadiansPerSecond;
+        m_inputs.odometryPeriod = state.OdometryPeriod;
+        m_inputsLog.process();
+        m_pose = new Pose2d(m_inputs.x, m_inputs.y, Rotation2d.fromRadians(m_inputs.theta));
+        m_speeds.vxMetersPerSecond = m_inputs.vx;
+        m_speeds.vyMetersPerSecond = m_inputs.vy;
+        m_speeds.omegaRadiansPerSecond = m_inputs.omega;
+
         /*
          * Periodically try to apply the operator perspective.
          * If we haven't applied the operator perspective before, then we should apply it regardless of DS state.
@@ -275,6 +390,8 @@ public class CommandSwerveDrivetrain extends TunerSwerveDrivetrain implements Su
                 m_hasAppliedOperatorPerspective = true;
             });
         }
+
+        LoopProfiler.record(m_periodicProfile, start);
     }
 
     private void startSimThread() {
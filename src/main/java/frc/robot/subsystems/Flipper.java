@@ -7,40 +7,49 @@ package frc.robot.subsystems;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import edu.wpi.first.wpilibj2.command.Command;
 
-import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.controls.PositionVoltage;
-import com.ctre.phoenix6.configs.TalonFXConfiguration;
-import com.ctre.phoenix6.signals.NeutralModeValue;
 
 import frc.robot.Constants;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.ReplayLog;
 
 public class Flipper extends SubsystemBase {
 
-  private final TalonFX flipper = new TalonFX(31, "CANivore");
+  private final FlipperIO io;
+  /* Updated at the start of every loop in periodic() */
+  private final FlipperIO.Inputs inputs = new FlipperIO.Inputs();
+  private final ReplayLog.InputChannel inputsLog = ReplayLog.inputs("Flipper", inputs);
+  private final int periodicProfile = LoopProfiler.register("Flipper.periodic");
+  private final ReplayLog.OutputChannel outputLog = ReplayLog.outputs("Flipper/flipper");
+
   private final PositionVoltage positionRequest = new PositionVoltage(0).withSlot(0);
 
-  public Flipper() {
-    TalonFXConfiguration cfg = new TalonFXConfiguration();
-    cfg.Slot0.kP = 2.5;
-    cfg.Slot0.kI = 0;
-    cfg.Slot0.kD = 0.01;
-    cfg.Slot0.kS = 0;
-    cfg.Slot0.kV = 0;
-    cfg.MotorOutput.NeutralMode = NeutralModeValue.Brake;
+  public Flipper(FlipperIO io) {
+    this.io = io;
+  }
 
-    flipper.getConfigurator().apply(cfg);
+  @Override
+  public void periodic() {
+    final long start = LoopProfiler.start();
+    io.updateInputs(inputs);
+    inputsLog.process();
+    LoopProfiler.record(periodicProfile, start);
+  }
 
-    // Optional: assume we start at stow when we boot
+  private void setPosition(double position) {
+    positionRequest.withPosition(position);
+    io.setControl(positionRequest);
+    outputLog.record(positionRequest);
   }
 
   /** Hold at the stow position. */
   public void goToStow() {
-    flipper.setControl(positionRequest.withPosition(Constants.flipperStowPos));
+    setPosition(Constants.flipperStowPos);
   }
 
   /** Move/hold at the amp position. */
   public void goToAmp() {
-    flipper.setControl(positionRequest.withPosition(Constants.flipperAmpPos));
+    setPosition(Constants.flipperAmpPos);
   }
 
   /** Command that continuously holds stow (for default command). */
@@ -53,7 +62,13 @@ public class Flipper extends SubsystemBase {
     return this.run(this::goToAmp);
   }
 
-  public TalonFX getMotor() {
-    return flipper;
+  /** Flipper position in rotations, as of the start of this loop. */
+  public double getPosition() {
+    return inputs.position;
+  }
+
+  @Override
+  public void simulationPeriodic() {
+    io.simulationPeriodic();
   }
 }
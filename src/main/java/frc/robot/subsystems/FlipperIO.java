@@ -0,0 +1,38 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.controls.ControlRequest;
+
+import frc.robot.util.ReplayInputs;
+
+/** Hardware layer for the {@link Flipper}. The default methods do nothing, which is what replay uses. */
+public interface FlipperIO {
+  /** Flipper sensor readings for one loop. */
+  class Inputs implements ReplayInputs {
+    public double position; // rotor rotations
+
+    @Override
+    public int size() {
+      return 1;
+    }
+
+    @Override
+    public void toArray(double[] out) {
+      out[0] = position;
+    }
+
+    @Override
+    public void fromArray(double[] in) {
+      position = in[0];
+    }
+  }
+
+  default void updateInputs(Inputs inputs) {}
+
+  default void setControl(ControlRequest request) {}
+
+  default void simulationPeriodic() {}
+}
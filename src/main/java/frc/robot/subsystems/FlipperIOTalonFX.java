@@ -0,0 +1,72 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.controls.ControlRequest;
+import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.signals.NeutralModeValue;
+import com.ctre.phoenix6.sim.TalonFXSimState;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.SingleJointedArmSim;
+
+import frc.robot.Constants;
+import frc.robot.util.StatusSignalRegistry;
+
+/** Flipper on a TalonFX, with a simulated arm when running in simulation. */
+public class FlipperIOTalonFX implements FlipperIO {
+  private final TalonFX flipper = new TalonFX(31, "CANivore");
+  /* Refreshed once per loop by the StatusSignalRegistry */
+  private final StatusSignal<Angle> position = flipper.getPosition();
+
+  /* Arm plant for simulation, starting at stow like the real flipper */
+  private static final double kSimPeriod = 0.02;
+  private static final double kSimGearing = 20.0;
+  private final SingleJointedArmSim armSim = new SingleJointedArmSim(
+      DCMotor.getKrakenX60(1), kSimGearing, 0.05, 0.3, -Math.PI, Math.PI, false,
+      Units.rotationsToRadians(Constants.flipperStowPos / kSimGearing));
+
+  public FlipperIOTalonFX() {
+    TalonFXConfiguration cfg = new TalonFXConfiguration();
+    cfg.Slot0.kP = 2.5;
+    cfg.Slot0.kI = 0;
+    cfg.Slot0.kD = 0.01;
+    cfg.Slot0.kS = 0;
+    cfg.Slot0.kV = 0;
+    cfg.MotorOutput.NeutralMode = NeutralModeValue.Brake;
+
+    flipper.getConfigurator().apply(cfg);
+    StatusSignalRegistry.register("CANivore", 50, position);
+    StatusSignalRegistry.addDevices("CANivore", flipper);
+
+    // Optional: assume we start at stow when we boot
+  }
+
+  @Override
+  public void updateInputs(Inputs inputs) {
+    inputs.position = position.getValueAsDouble();
+  }
+
+  @Override
+  public void setControl(ControlRequest request) {
+    flipper.setControl(request);
+  }
+
+  @Override
+  public void simulationPeriodic() {
+    TalonFXSimState simState = flipper.getSimState();
+    simState.setSupplyVoltage(RobotController.getBatteryVoltage());
+    armSim.setInputVoltage(simState.getMotorVoltage());
+    armSim.update(kSimPeriod);
+
+    simState.setRawRotorPosition(Units.radiansToRotations(armSim.getAngleRads()) * kSimGearing);
+    simState.setRotorVelocity(Units.radiansToRotations(armSim.getVelocityRadPerSec()) * kSimGearing);
+  }
+}
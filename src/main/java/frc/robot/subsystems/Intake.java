@@ -5,49 +5,74 @@
 package frc.robot.subsystems;
 
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import com.ctre.phoenix6.hardware.TalonFX;
-import com.ctre.phoenix6.signals.*;
-import com.ctre.phoenix6.controls.Follower;
+import com.ctre.phoenix6.controls.DutyCycleOut;
 import frc.robot.Constants;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.ReplayLog;
 
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.FunctionalCommand;
 
 public class Intake extends SubsystemBase {
-  private final TalonFX indexer = new TalonFX(14, "CANivore");
-  private final TalonFX intake = new TalonFX(41);
-  private final TalonFX intake2 = new TalonFX(42);
+  private final IntakeIO io;
+  /* Updated at the start of every loop in periodic() */
+  private final IntakeIO.Inputs inputs = new IntakeIO.Inputs();
+  private final ReplayLog.InputChannel inputsLog = ReplayLog.inputs("Intake", inputs);
+  private final int periodicProfile = LoopProfiler.register("Intake.periodic");
+  private final ReplayLog.OutputChannel intakeLog = ReplayLog.outputs("Intake/intake");
+  private final ReplayLog.OutputChannel indexerLog = ReplayLog.outputs("Intake/indexer");
+
+  private final DutyCycleOut intakeRequest = new DutyCycleOut(0);
+  private final DutyCycleOut indexerRequest = new DutyCycleOut(0);
+
+  public Intake(IntakeIO io) {
+    this.io = io;
+  }
+
+  @Override
+  public void periodic() {
+    final long start = LoopProfiler.start();
+    io.updateInputs(inputs);
+    inputsLog.process();
+    LoopProfiler.record(periodicProfile, start);
+  }
+
+  private void setIntake(double output) {
+    io.setIntakeControl(intakeRequest.withOutput(output));
+    intakeLog.record(intakeRequest);
+  }
 
-  public Intake() {
-    intake2.setControl(new Follower(intake.getDeviceID(), false));
+  private void setIndexer(double output) {
+    io.setIndexerControl(indexerRequest.withOutput(output));
+    indexerLog.record(indexerRequest);
   }
 
   public void startIntake() {
-    intake.set(Constants.intakeSpeed);
-    indexer.set(Constants.indexerSpeed);
+    setIntake(Constants.intakeSpeed);
+    setIndexer(Constants.indexerSpeed);
   }
 
   public void reverse() {
-    intake.set(-Constants.intakeSpeed);
-    indexer.set(-Constants.indexerSpeed);
+    setIntake(-Constants.intakeSpeed);
+    setIndexer(-Constants.indexerSpeed);
   }
 
   public void runIndexer() {
-    indexer.set(Constants.indexerSpeedAct);
+    setIndexer(Constants.indexerSpeedAct);
   }
 
   public void stopIntake() {
-    intake.set(0);
-    indexer.set(0);
+    setIntake(0);
+    setIndexer(0);
   }
 
   public void runIndexerReverse() {
-    indexer.set(-Constants.indexerSpeedAct);
+    setIndexer(-Constants.indexerSpeedAct);
   }
 
   public boolean hasNote() {
-    return !indexer.getReverseLimit().getValue().equals(ReverseLimitValue.Open);
+    return inputs.hasNote;
   }
 
   // Intakes until the condition of has a note.
@@ -80,15 +105,8 @@ public class Intake extends SubsystemBase {
         this);
   }
 
-  public TalonFX getIndexerMotor() {
-    return indexer;
-  }
-
-  public TalonFX getIntakeMotor() {
-    return intake;
-  }
-
-  public TalonFX getIntake2Motor() {
-    return intake2;
+  @Override
+  public void simulationPeriodic() {
+    io.simulationPeriodic();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.controls.ControlRequest;
+
+import frc.robot.util.ReplayInputs;
+
+/** Hardware layer for the {@link Intake}. The default methods do nothing, which is what replay uses. */
+public interface IntakeIO {
+  /** Intake sensor readings for one loop. */
+  class Inputs implements ReplayInputs {
+    public boolean hasNote; // indexer beam break on the reverse limit
+
+    @Override
+    public int size() {
+      return 1;
+    }
+
+    @Override
+    public void toArray(double[] out) {
+      out[0] = hasNote ? 1 : 0;
+    }
+
+    @Override
+    public void fromArray(double[] in) {
+      hasNote = in[0] != 0;
+    }
+  }
+
+  default void updateInputs(Inputs inputs) {}
+
+  /** Drives the intake rollers; the second intake motor follows. */
+  default void setIntakeControl(ControlRequest request) {}
+
+  default void setIndexerControl(ControlRequest request) {}
+
+  default void simulationPeriodic() {}
+}
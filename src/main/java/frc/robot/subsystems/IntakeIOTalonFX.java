@@ -0,0 +1,110 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.controls.ControlRequest;
+import com.ctre.phoenix6.controls.Follower;
+import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.signals.ReverseLimitValue;
+import com.ctre.phoenix6.sim.TalonFXSimState;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.system.plant.LinearSystemId;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.FlywheelSim;
+
+import frc.robot.util.StatusSignalRegistry;
+
+/** Intake and indexer on TalonFXs, with simulated rollers and notes when running in simulation. */
+public class IntakeIOTalonFX implements IntakeIO {
+  private final TalonFX indexer = new TalonFX(14, "CANivore");
+  private final TalonFX intake = new TalonFX(41);
+  private final TalonFX intake2 = new TalonFX(42);
+
+  /* Refreshed once per loop by the StatusSignalRegistry */
+  private final StatusSignal<ReverseLimitValue> indexerReverseLimit = indexer.getReverseLimit();
+
+  /*
+   * Simulation: the rollers are flywheels, and a note is picked up after the intake has pulled in for
+   * kSimPickupTime, then leaves after the indexer has fed it forward (or back out) for kSimFeedTime.
+   * The indexer reverse limit is closed while the note is held, like the real beam break.
+   */
+  private static final double kSimPeriod = 0.02;
+  private static final double kSimGearing = 3.0;
+  private static final double kSimPickupTime = 0.3;
+  private static final double kSimFeedTime = 0.15;
+  private static final double kSimMinVolts = 1.0;
+  private final FlywheelSim intakeSim = new FlywheelSim(
+      LinearSystemId.createFlywheelSystem(DCMotor.getKrakenX60(2), 0.001, kSimGearing), DCMotor.getKrakenX60(2));
+  private final FlywheelSim indexerSim = new FlywheelSim(
+      LinearSystemId.createFlywheelSystem(DCMotor.getKrakenX60(1), 0.001, kSimGearing), DCMotor.getKrakenX60(1));
+  private boolean simHasNote = false;
+  private double simNoteTime = 0;
+
+  public IntakeIOTalonFX() {
+    intake2.setControl(new Follower(intake.getDeviceID(), false));
+    // Read once per loop after refreshAll, so anything faster than the loop is wasted bandwidth
+    StatusSignalRegistry.register("CANivore", 50, indexerReverseLimit);
+    // The follower tracks the leader's duty cycle frame, keep it at the default rate
+    StatusSignalRegistry.retain("", 100, intake.getDutyCycle());
+    StatusSignalRegistry.addDevices("CANivore", indexer);
+    StatusSignalRegistry.addDevices("", intake, intake2);
+  }
+
+  @Override
+  public void updateInputs(Inputs inputs) {
+    inputs.hasNote = indexerReverseLimit.getValue() != ReverseLimitValue.Open;
+  }
+
+  @Override
+  public void setIntakeControl(ControlRequest request) {
+    intake.setControl(request);
+  }
+
+  @Override
+  public void setIndexerControl(ControlRequest request) {
+    indexer.setControl(request);
+  }
+
+  @Override
+  public void simulationPeriodic() {
+    double battery = RobotController.getBatteryVoltage();
+    TalonFXSimState intakeState = intake.getSimState();
+    TalonFXSimState intake2State = intake2.getSimState();
+    TalonFXSimState indexerState = indexer.getSimState();
+    intakeState.setSupplyVoltage(battery);
+    intake2State.setSupplyVoltage(battery);
+    indexerState.setSupplyVoltage(battery);
+
+    double intakeVolts = intakeState.getMotorVoltage();
+    double indexerVolts = indexerState.getMotorVoltage();
+    intakeSim.setInputVoltage(intakeVolts);
+    intakeSim.update(kSimPeriod);
+    indexerSim.setInputVoltage(indexerVolts);
+    indexerSim.update(kSimPeriod);
+
+    double intakeRps = Units.radiansToRotations(intakeSim.getAngularVelocityRadPerSec()) * kSimGearing;
+    double indexerRps = Units.radiansToRotations(indexerSim.getAngularVelocityRadPerSec()) * kSimGearing;
+    intakeState.setRotorVelocity(intakeRps);
+    intakeState.addRotorPosition(intakeRps * kSimPeriod);
+    intake2State.setRotorVelocity(intakeRps);
+    intake2State.addRotorPosition(intakeRps * kSimPeriod);
+    indexerState.setRotorVelocity(indexerRps);
+    indexerState.addRotorPosition(indexerRps * kSimPeriod);
+
+    // Intaking runs the intake negative; feeding is the indexer alone, either direction
+    boolean moving = simHasNote
+        ? Math.abs(indexerVolts) > kSimMinVolts && Math.abs(intakeVolts) < kSimMinVolts
+        : intakeVolts < -kSimMinVolts;
+    simNoteTime = moving ? simNoteTime + kSimPeriod : 0;
+    if (simNoteTime >= (simHasNote ? kSimFeedTime : kSimPickupTime)) {
+      simHasNote = !simHasNote;
+      simNoteTime = 0;
+    }
+    indexerState.setReverseLimit(simHasNote);
+  }
+}
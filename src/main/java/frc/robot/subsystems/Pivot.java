@@ -10,41 +10,75 @@ import edu.wpi.first.wpilibj2.command.InstantCommand;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 
 import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
 
+import com.ctre.phoenix6.controls.ControlRequest;
 import com.ctre.phoenix6.controls.DynamicMotionMagicVoltage;
 import com.ctre.phoenix6.controls.PositionVoltage;
 import com.ctre.phoenix6.controls.VoltageOut;
-import com.ctre.phoenix6.hardware.TalonFX;
-import com.ctre.phoenix6.signals.ReverseLimitValue;
-
-import static edu.wpi.first.units.Units.Rotations;
 
 import frc.robot.Constants;
+import frc.robot.ShotMap;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.ReplayLog;
 
 public class Pivot extends SubsystemBase {
-  private static final TalonFX pivot = new TalonFX(15, "CANivore");
+  private final PivotIO io;
+  /* Updated at the start of every loop in periodic() */
+  private final PivotIO.Inputs inputs = new PivotIO.Inputs();
+  private final ReplayLog.InputChannel inputsLog = ReplayLog.inputs("Pivot", inputs);
+  private final int periodicProfile = LoopProfiler.register("Pivot.periodic");
+  private final ReplayLog.OutputChannel outputLog = ReplayLog.outputs("Pivot/pivot");
+
   private final DynamicMotionMagicVoltage mm_request = new DynamicMotionMagicVoltage(0, 130, 260, 0);
   private final PositionVoltage pos = new PositionVoltage(0);
+  private final VoltageOut holdRequest = new VoltageOut(0);
+  /* Last commanded position in rotor rotations; the stow hold keeps the stow position */
+  private double targetPosition = 0;
+
+  public Pivot(PivotIO io) {
+    this.io = io;
+  }
+
+  @Override
+  public void periodic() {
+    final long start = LoopProfiler.start();
+    io.updateInputs(inputs);
+    inputsLog.process();
+    LoopProfiler.record(periodicProfile, start);
+  }
+
+  private void moveTo(double position) {
+    targetPosition = position;
+    setControl(mm_request.withPosition(position).withFeedForward(getFeedForward()));
+  }
 
-  public Pivot() {
+  private void setControl(ControlRequest request) {
+    io.setControl(request);
+    outputLog.record(request);
   }
 
   private double getFeedForward() {
-    double currentPos = pivot.getPosition().getValue().in(Rotations);
+    double currentPos = inputs.position;
     double currentAngle = currentPos * Constants.pivotOffsetAngleThingy;
     return 0.2 * Math.sin(Math.toRadians(currentAngle));
   }
 
   public void pivotUp() {
-    pivot.setControl(mm_request.withPosition(angleToPos(Constants.pivotShootAngle)).withFeedForward(getFeedForward()));
+    pivotTo(Constants.pivotShootAngle);
+  }
+
+  /** Moves the pivot to a shooting angle, in the same units as {@link Constants#pivotShootAngle}. */
+  public void pivotTo(double angle) {
+    moveTo(angleToPos(angle));
   }
 
   public void pivotDown() {
-    pivot.setControl(mm_request.withPosition(0).withFeedForward(getFeedForward()));
+    moveTo(0);
   }
 
   public void pivotAmp() {
-    pivot.setControl(mm_request.withPosition(Constants.pivotAmpPos).withFeedForward(getFeedForward()));
+    moveTo(Constants.pivotAmpPos);
   }
 
   public double angleToPos(double angle) {
@@ -52,33 +86,45 @@ public class Pivot extends SubsystemBase {
   }
 
   public void stow() {
-    pivot.setControl(pos.withPosition(Constants.pivotStowPosition).withFeedForward(getFeedForward()));
+    targetPosition = Constants.pivotStowPosition;
+    setControl(pos.withPosition(Constants.pivotStowPosition).withFeedForward(getFeedForward()));
   }
 
-  public static BooleanSupplier pivotZero() {
-    return () -> pivot.getReverseLimit().getValue().equals(ReverseLimitValue.ClosedToGround);
+  public BooleanSupplier pivotZero() {
+    return () -> inputs.reverseLimitClosed;
   }
 
   public double getPosition() {
-    return pivot.getPosition().getValue().in(Rotations);
+    return inputs.position;
   }
 
-  public static Command zeroEncoder() {
+  /** Last commanded position in rotor rotations. */
+  public double getTargetPosition() {
+    return targetPosition;
+  }
+
+  public Command zeroEncoder() {
     return new InstantCommand(
-        () -> pivot.setPosition(0));
+        () -> io.setPosition(0));
   }
 
   public Command pivotStartEnd() {
     return Commands.run(this::pivotUp, this);
   }
 
+  /** Continuously tracks the shot map angle for the supplied distance to the speaker in meters. */
+  public Command trackShotMap(ShotMap shotMap, DoubleSupplier distance) {
+    return Commands.run(() -> pivotTo(shotMap.getPivotAngle(distance.getAsDouble())), this);
+  }
+
   public Command stowDefault() {
-    return Commands.run(() -> pivot.setControl(pos.withPosition(Constants.pivotStowPosition).withFeedForward(getFeedForward())), this)
+    return Commands.run(this::stow, this)
         .until(pivotZero())
-        .andThen(Commands.run(() -> pivot.setControl(new VoltageOut(Constants.pivotStowHoldVolts)), this));
+        .andThen(Commands.run(() -> setControl(holdRequest.withOutput(Constants.pivotStowHoldVolts)), this));
   }
 
-  public static TalonFX getMotor() {
-    return pivot;
+  @Override
+  public void simulationPeriodic() {
+    io.simulationPeriodic();
   }
 }
@@ -0,0 +1,44 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.controls.ControlRequest;
+
+import frc.robot.util.ReplayInputs;
+
+/** Hardware layer for the {@link Pivot}. The default methods do nothing, which is what replay uses. */
+public interface PivotIO {
+  /** Pivot sensor readings for one loop. */
+  class Inputs implements ReplayInputs {
+    public double position; // rotor rotations
+    public boolean reverseLimitClosed;
+
+    @Override
+    public int size() {
+      return 2;
+    }
+
+    @Override
+    public void toArray(double[] out) {
+      out[0] = position;
+      out[1] = reverseLimitClosed ? 1 : 0;
+    }
+
+    @Override
+    public void fromArray(double[] in) {
+      position = in[0];
+      reverseLimitClosed = in[1] != 0;
+    }
+  }
+
+  default void updateInputs(Inputs inputs) {}
+
+  default void setControl(ControlRequest request) {}
+
+  /** Resets the encoder to a position in rotor rotations. */
+  default void setPosition(double position) {}
+
+  default void simulationPeriodic() {}
+}
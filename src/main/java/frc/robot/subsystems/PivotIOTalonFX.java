@@ -0,0 +1,76 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.controls.ControlRequest;
+import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.signals.ReverseLimitValue;
+import com.ctre.phoenix6.sim.TalonFXSimState;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.SingleJointedArmSim;
+
+import frc.robot.Constants;
+import frc.robot.util.StatusSignalRegistry;
+
+/** Pivot on a TalonFX, with a simulated arm when running in simulation. */
+public class PivotIOTalonFX implements PivotIO {
+  private final TalonFX pivot = new TalonFX(15, "CANivore");
+  /* Refreshed once per loop by the StatusSignalRegistry */
+  private final StatusSignal<Angle> position = pivot.getPosition();
+  private final StatusSignal<ReverseLimitValue> reverseLimit = pivot.getReverseLimit();
+
+  /*
+   * Arm plant for simulation. Pivot degrees are rotor rotations times pivotOffsetAngleThingy, so the
+   * gearing is 360 / pivotOffsetAngleThingy. Gravity is left out until the angle reference is measured
+   * against horizontal. The reverse limit closes at the bottom hardstop.
+   */
+  private static final double kSimPeriod = 0.02;
+  private static final double kSimGearing = 360.0 / Constants.pivotOffsetAngleThingy;
+  private static final double kSimMinAngle = Math.toRadians(-5);
+  private static final double kSimMaxAngle = Math.toRadians(160);
+  private static final double kSimLimitAngle = Math.toRadians(0.5);
+  private final SingleJointedArmSim armSim = new SingleJointedArmSim(
+      DCMotor.getKrakenX60(1), kSimGearing, 0.5, 0.5, kSimMinAngle, kSimMaxAngle, false, 0);
+
+  public PivotIOTalonFX() {
+    // Position feeds the gravity feedforward every loop, so give it a fresh sample each loop
+    StatusSignalRegistry.register("CANivore", 100, position);
+    StatusSignalRegistry.register("CANivore", 50, reverseLimit);
+    StatusSignalRegistry.addDevices("CANivore", pivot);
+  }
+
+  @Override
+  public void updateInputs(Inputs inputs) {
+    inputs.position = position.getValueAsDouble();
+    inputs.reverseLimitClosed = reverseLimit.getValue() == ReverseLimitValue.ClosedToGround;
+  }
+
+  @Override
+  public void setControl(ControlRequest request) {
+    pivot.setControl(request);
+  }
+
+  @Override
+  public void setPosition(double rotations) {
+    pivot.setPosition(rotations);
+  }
+
+  @Override
+  public void simulationPeriodic() {
+    TalonFXSimState simState = pivot.getSimState();
+    simState.setSupplyVoltage(RobotController.getBatteryVoltage());
+    armSim.setInputVoltage(simState.getMotorVoltage());
+    armSim.update(kSimPeriod);
+
+    double angleDeg = Math.toDegrees(armSim.getAngleRads());
+    simState.setRawRotorPosition(angleDeg / Constants.pivotOffsetAngleThingy);
+    simState.setRotorVelocity(Math.toDegrees(armSim.getVelocityRadPerSec()) / Constants.pivotOffsetAngleThingy);
+    simState.setReverseLimit(armSim.getAngleRads() <= kSimLimitAngle);
+  }
+}
@@ -5,73 +5,272 @@
 package frc.robot.subsystems;
 
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
-import com.ctre.phoenix6.configs.TalonFXConfiguration;
-import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.SignalLogger;
+import com.ctre.phoenix6.controls.ControlRequest;
+import com.ctre.phoenix6.controls.DutyCycleOut;
+import com.ctre.phoenix6.controls.TorqueCurrentFOC;
 import com.ctre.phoenix6.controls.VelocityVoltage;
-import com.ctre.phoenix6.signals.NeutralModeValue;
+import com.ctre.phoenix6.controls.VoltageOut;
 import frc.robot.Constants;
+import frc.robot.ShotMap;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.ReplayLog;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.Timer;
+
+import java.util.function.DoubleSupplier;
 
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
+import edu.wpi.first.wpilibj2.command.FunctionalCommand;
+import edu.wpi.first.wpilibj2.command.button.Trigger;
 
 public class Shooter extends SubsystemBase {
+  private final ShooterIO io;
+  /* Updated at the start of every loop in periodic() */
+  private final ShooterIO.Inputs inputs = new ShooterIO.Inputs();
+  private final ReplayLog.InputChannel inputsLog = ReplayLog.inputs("Shooter", inputs);
+  private final int periodicProfile = LoopProfiler.register("Shooter.periodic");
+  private final ReplayLog.OutputChannel innerLog = ReplayLog.outputs("Shooter/inner");
+  private final ReplayLog.OutputChannel outerLog = ReplayLog.outputs("Shooter/outer");
+
+  /* Both wheels must be within this many rps of the target for the debounce window to be ready */
+  private static final double kReadyTolerance = 2.0;
+  private static final double kReadyDebounce = 0.04;
+
+  /*
+   * Spin-up boost: a wheel more than kBoostEnterError below its setpoint gets full output until it is
+   * within kBoostExitError, then the velocity loop takes over. The gap between the two keeps it from
+   * chattering. Torque-current boost needs Phoenix Pro; without it the boost is a full-voltage bang-bang.
+   */
+  private static final boolean kUseTorqueCurrentBoost = false;
+  private static final double kBoostEnterError = 10.0; // rps
+  private static final double kBoostExitError = 4.0; // rps
+  private static final double kBoostCurrent = 60.0; // amps
+  private static final double kBoostVolts = 12.0;
+
+  /* A shot that hasn't pulled the wheels out of tolerance within this long didn't need a recovery */
+  private static final double kRecoveryDipWindow = 0.25;
+
+  /* Commanded speed, 0 when stopped */
+  private double targetSpeed = 0;
+  /* When the wheels were last commanded up from a stop, NaN once they have reported ready */
+  private double spinUpStart = Double.NaN;
+  /* When a note last left while spinning, NaN once the wheels are back within tolerance */
+  private double recoveryStart = Double.NaN;
+  private boolean recoveryDipped = false;
+
+  private boolean innerBoosting = false;
+  private boolean outerBoosting = false;
+
+  private final DoublePublisher timeToReadyPub =
+      NetworkTableInstance.getDefault().getTable("Shooter").getDoubleTopic("TimeToReadyMs").publish();
+  private final DoublePublisher recoveryPub =
+      NetworkTableInstance.getDefault().getTable("Shooter").getDoubleTopic("RecoveryMs").publish();
+
+  /** True once both flywheels have been within tolerance of the commanded speed for the debounce window. */
+  public final Trigger atSpeed = new Trigger(this::withinTolerance).debounce(kReadyDebounce);
+
   /** Creates a new ShooterShoot. */
-  private final TalonFX inner = new TalonFX(13, "CANivore");
-  private final TalonFX outer = new TalonFX(17, "CANivore");
-
-  private static final double kP = 0.2;
-  private static final double kI = 0.0;
-  private static final double kD = 0.01;
-
-  private static final double kS = 0.1;
-  private static final double kV = 0.12;
-
-  public Shooter() {
-    inner.getConfigurator().apply(new TalonFXConfiguration() {
-      {
-        Slot0.kP = kP;
-        Slot0.kI = kI;
-        Slot0.kD = kD;
-        Slot0.kS = kS;
-        Slot0.kV = kV;
-        MotorOutput.NeutralMode = NeutralModeValue.Brake;
-      }
-    });
-
-    outer.getConfigurator().apply(new TalonFXConfiguration() {
-      {
-        Slot0.kP = kP;
-        Slot0.kI = kI;
-        Slot0.kD = kD;
-        Slot0.kS = kS;
-        Slot0.kV = kV;
-        MotorOutput.NeutralMode = NeutralModeValue.Brake;
-      }
-    });
+  public Shooter(ShooterIO io) {
+    this.io = io;
+
+    atSpeed.onTrue(Commands.runOnce(this::logTimeToReady));
   }
 
   VelocityVoltage outerVelocity = new VelocityVoltage(-Constants.shooterSpeed);
   VelocityVoltage innerVelocity = new VelocityVoltage(Constants.shooterSpeed);
+  private final ControlRequest innerBoost = kUseTorqueCurrentBoost
+      ? new TorqueCurrentFOC(kBoostCurrent)
+      : new VoltageOut(kBoostVolts);
+  private final ControlRequest outerBoost = kUseTorqueCurrentBoost
+      ? new TorqueCurrentFOC(-kBoostCurrent)
+      : new VoltageOut(-kBoostVolts);
+  private final DutyCycleOut stop = new DutyCycleOut(0);
 
   public void startWheels() {
-    inner.setControl(innerVelocity.withVelocity(Constants.shooterSpeed));
-    outer.setControl(outerVelocity.withVelocity(-Constants.shooterSpeed));
+    startWheels(Constants.shooterSpeed);
   }
 
+  /** Runs both flywheels at a speed in rotations per second. */
+  public void startWheels(double speed) {
+    if (targetSpeed == 0 && speed != 0) {
+      spinUpStart = Timer.getFPGATimestamp();
+    }
+    targetSpeed = speed;
+    applyControl();
+  }
+
+  /** Stops the flywheels, or drops them to the idle pre-spin speed if one is set. */
   public void stopWheels() {
-    inner.set(0);
-    outer.set(0);
+    targetSpeed = 0;
+    spinUpStart = Double.NaN;
+    recoveryStart = Double.NaN;
+    applyControl();
+  }
+
+  /**
+   * Starts timing the flywheels' recovery from a shot. Call once a note has left the shooter; setpoint
+   * changes while spinning are not shots and are never timed as recoveries.
+   */
+  public void noteFired() {
+    if (!isSpinning()) {
+      return;
+    }
+    recoveryStart = Timer.getFPGATimestamp();
+    recoveryDipped = false;
+    io.simulateShot();
+  }
+
+  @Override
+  public void periodic() {
+    final long start = LoopProfiler.start();
+    io.updateInputs(inputs);
+    inputsLog.process();
+    updateRecovery();
+    // Re-evaluate the boost phase against this loop's velocities
+    applyControl();
+    LoopProfiler.record(periodicProfile, start);
+  }
+
+  private void applyControl() {
+    double setpoint = targetSpeed != 0 ? targetSpeed : Constants.shooterIdleSpeed;
+    if (setpoint == 0) {
+      innerBoosting = false;
+      outerBoosting = false;
+      setInner(stop);
+      setOuter(stop);
+      return;
+    }
+
+    // The outer wheel runs reversed
+    innerBoosting = updateBoost(innerBoosting, setpoint - getInnerVelocity());
+    outerBoosting = updateBoost(outerBoosting, setpoint + getOuterVelocity());
+    setInner(innerBoosting ? innerBoost : innerVelocity.withVelocity(setpoint));
+    setOuter(outerBoosting ? outerBoost : outerVelocity.withVelocity(-setpoint));
+  }
+
+  private void setInner(ControlRequest request) {
+    io.setInnerControl(request);
+    innerLog.record(request);
+  }
+
+  private void setOuter(ControlRequest request) {
+    io.setOuterControl(request);
+    outerLog.record(request);
+  }
+
+  private static boolean updateBoost(boolean boosting, double error) {
+    if (!Constants.shooterSpinUpBoost) {
+      return false;
+    }
+    return error > (boosting ? kBoostExitError : kBoostEnterError);
   }
 
   public Command shoot_StartStop() {
     return Commands.startEnd(this::startWheels, this::stopWheels, this);
   }
 
-  public TalonFX getInnerMotor() {
-    return inner;
+  /** Continuously tracks the shot map speed for the supplied distance to the speaker in meters. */
+  public Command trackShotMap(ShotMap shotMap, DoubleSupplier distance) {
+    return Commands.runEnd(() -> startWheels(shotMap.getShooterSpeed(distance.getAsDouble())), this::stopWheels, this);
+  }
+
+  /** Commanded flywheel speed in rotations per second, 0 when stopped (idle pre-spin not included). */
+  public double getTargetSpeed() {
+    return targetSpeed;
+  }
+
+  /** Whether the flywheels are commanded to spin. */
+  public boolean isSpinning() {
+    return targetSpeed != 0;
+  }
+
+  private boolean withinTolerance() {
+    // The outer wheel runs reversed
+    return targetSpeed != 0
+        && Math.abs(getInnerVelocity() - targetSpeed) <= kReadyTolerance
+        && Math.abs(-getOuterVelocity() - targetSpeed) <= kReadyTolerance;
+  }
+
+  private void logTimeToReady() {
+    if (Double.isNaN(spinUpStart)) {
+      return;
+    }
+    double timeToReadyMs = (Timer.getFPGATimestamp() - spinUpStart) * 1000.0;
+    spinUpStart = Double.NaN;
+    timeToReadyPub.set(timeToReadyMs);
+    SignalLogger.writeDouble("Shooter/TimeToReady", timeToReadyMs, "ms");
+  }
+
+  /* Times a shot from the note leaving until both wheels are back within tolerance */
+  private void updateRecovery() {
+    if (Double.isNaN(recoveryStart)) {
+      return;
+    }
+    double now = Timer.getFPGATimestamp();
+    if (!withinTolerance()) {
+      recoveryDipped = true;
+      return;
+    }
+    if (recoveryDipped) {
+      double recoveryMs = (now - recoveryStart) * 1000.0;
+      recoveryPub.set(recoveryMs);
+      SignalLogger.writeDouble("Shooter/Recovery", recoveryMs, "ms");
+    } else if (now - recoveryStart < kRecoveryDipWindow) {
+      return;
+    }
+    recoveryStart = Double.NaN;
+  }
+
+  /**
+   * Feeds the note through the indexer the first loop the flywheels are at speed, and ends once the
+   * note has left. Only requires the intake, so run it alongside whatever is spinning the wheels.
+   * <p>
+   * It only ends, and only counts a shot, when a note it saw in the indexer leaves. Pulled with the
+   * indexer empty, it keeps waiting for a note until it is interrupted.
+   */
+  public Command fireWhenReady(Intake intake) {
+    boolean[] firing = {false};
+    boolean[] sawNote = {false};
+    return new FunctionalCommand(
+        () -> {
+          firing[0] = false;
+          sawNote[0] = false;
+        },
+        () -> {
+          if (intake.hasNote()) {
+            sawNote[0] = true;
+          }
+          if (firing[0] || atSpeed.getAsBoolean()) {
+            firing[0] = true;
+            intake.runIndexer();
+          }
+        },
+        interrupted -> {
+          intake.stopIntake();
+          if (!interrupted) {
+            noteFired();
+          }
+        },
+        () -> sawNote[0] && !intake.hasNote(),
+        intake);
+  }
+
+  /** Inner flywheel velocity in rotations per second, as of the start of this loop. */
+  public double getInnerVelocity() {
+    return inputs.innerVelocity;
+  }
+
+  /** Outer flywheel velocity in rotations per second, as of the start of this loop. */
+  public double getOuterVelocity() {
+    return inputs.outerVelocity;
   }
 
-  public TalonFX getOuterMotor() {
-    return outer;
+  @Override
+  public void simulationPeriodic() {
+    io.simulationPeriodic();
   }
-}
\ No newline at end of file
+}
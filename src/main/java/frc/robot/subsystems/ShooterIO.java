@@ -0,0 +1,46 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.controls.ControlRequest;
+
+import frc.robot.util.ReplayInputs;
+
+/** Hardware layer for the {@link Shooter}. The default methods do nothing, which is what replay uses. */
+public interface ShooterIO {
+  /** Flywheel sensor readings for one loop. */
+  class Inputs implements ReplayInputs {
+    public double innerVelocity; // rps
+    public double outerVelocity; // rps, negative when shooting
+
+    @Override
+    public int size() {
+      return 2;
+    }
+
+    @Override
+    public void toArray(double[] out) {
+      out[0] = innerVelocity;
+      out[1] = outerVelocity;
+    }
+
+    @Override
+    public void fromArray(double[] in) {
+      innerVelocity = in[0];
+      outerVelocity = in[1];
+    }
+  }
+
+  default void updateInputs(Inputs inputs) {}
+
+  default void setInnerControl(ControlRequest request) {}
+
+  default void setOuterControl(ControlRequest request) {}
+
+  default void simulationPeriodic() {}
+
+  /** In simulation, takes the energy a note carries away out of the flywheels. */
+  default void simulateShot() {}
+}
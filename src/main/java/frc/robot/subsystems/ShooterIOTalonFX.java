@@ -0,0 +1,115 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.configs.TalonFXConfiguration;
+import com.ctre.phoenix6.controls.ControlRequest;
+import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.signals.NeutralModeValue;
+import com.ctre.phoenix6.sim.TalonFXSimState;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.system.plant.LinearSystemId;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.FlywheelSim;
+
+import frc.robot.Constants;
+import frc.robot.util.StatusSignalRegistry;
+
+/** Shooter flywheels on TalonFXs, with simulated flywheels when running in simulation. */
+public class ShooterIOTalonFX implements ShooterIO {
+  private final TalonFX inner = new TalonFX(13, "CANivore");
+  private final TalonFX outer = new TalonFX(17, "CANivore");
+
+  /* Refreshed once per loop by the StatusSignalRegistry */
+  private final StatusSignal<AngularVelocity> innerVelocity = inner.getVelocity();
+  private final StatusSignal<AngularVelocity> outerVelocity = outer.getVelocity();
+
+  private static final double kI = 0.0;
+  private static final double kD = 0.01;
+
+  private static final double kS = 0.1;
+
+  /* Flywheel plant for simulation */
+  private static final double kFlywheelMoi = 0.002; // kg m^2 per wheel
+  private static final double kFlywheelGearing = 1.0;
+  private static final double kSimPeriod = 0.02;
+  /* Fraction of flywheel speed a note takes with it; a rough figure for a 4 in wheel shooter */
+  private static final double kSimShotSpeedDrop = 0.15;
+
+  private final FlywheelSim innerSim = new FlywheelSim(
+      LinearSystemId.createFlywheelSystem(DCMotor.getKrakenX60Foc(1), kFlywheelMoi, kFlywheelGearing),
+      DCMotor.getKrakenX60Foc(1));
+  private final FlywheelSim outerSim = new FlywheelSim(
+      LinearSystemId.createFlywheelSystem(DCMotor.getKrakenX60Foc(1), kFlywheelMoi, kFlywheelGearing),
+      DCMotor.getKrakenX60Foc(1));
+
+  public ShooterIOTalonFX() {
+    inner.getConfigurator().apply(new TalonFXConfiguration() {
+      {
+        Slot0.kP = Constants.shooterKP;
+        Slot0.kI = kI;
+        Slot0.kD = kD;
+        Slot0.kS = kS;
+        Slot0.kV = Constants.shooterKV;
+        MotorOutput.NeutralMode = NeutralModeValue.Brake;
+      }
+    });
+
+    outer.getConfigurator().apply(new TalonFXConfiguration() {
+      {
+        Slot0.kP = Constants.shooterKP;
+        Slot0.kI = kI;
+        Slot0.kD = kD;
+        Slot0.kS = kS;
+        Slot0.kV = Constants.shooterKV;
+        MotorOutput.NeutralMode = NeutralModeValue.Brake;
+      }
+    });
+
+    StatusSignalRegistry.register("CANivore", 100, innerVelocity, outerVelocity);
+    StatusSignalRegistry.addDevices("CANivore", inner, outer);
+  }
+
+  @Override
+  public void updateInputs(Inputs inputs) {
+    inputs.innerVelocity = innerVelocity.getValueAsDouble();
+    inputs.outerVelocity = outerVelocity.getValueAsDouble();
+  }
+
+  @Override
+  public void setInnerControl(ControlRequest request) {
+    inner.setControl(request);
+  }
+
+  @Override
+  public void setOuterControl(ControlRequest request) {
+    outer.setControl(request);
+  }
+
+  @Override
+  public void simulationPeriodic() {
+    updateSim(inner.getSimState(), innerSim);
+    updateSim(outer.getSimState(), outerSim);
+  }
+
+  @Override
+  public void simulateShot() {
+    innerSim.setAngularVelocity(innerSim.getAngularVelocityRadPerSec() * (1 - kSimShotSpeedDrop));
+    outerSim.setAngularVelocity(outerSim.getAngularVelocityRadPerSec() * (1 - kSimShotSpeedDrop));
+  }
+
+  private static void updateSim(TalonFXSimState simState, FlywheelSim flywheel) {
+    simState.setSupplyVoltage(RobotController.getBatteryVoltage());
+    flywheel.setInputVoltage(simState.getMotorVoltage());
+    flywheel.update(kSimPeriod);
+    double rotorRps = Units.radiansToRotations(flywheel.getAngularVelocityRadPerSec()) * kFlywheelGearing;
+    simState.setRotorVelocity(rotorRps);
+    simState.addRotorPosition(rotorRps * kSimPeriod);
+  }
+}
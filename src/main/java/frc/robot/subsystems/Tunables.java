@@ -0,0 +1,138 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import edu.wpi.first.networktables.DoubleEntry;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEvent;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+
+import frc.robot.util.LoopProfiler;
+
+/**
+ * Dashboard-tunable numbers that are pushed into robot code only when they change.
+ * <p>
+ * Each tunable is a SmartDashboard number backed by a NetworkTables listener. The listener runs on
+ * the NetworkTables thread and only stores the new value; {@link #periodic()} applies it on the main
+ * thread. When nothing has changed, the per-loop cost is a single volatile read.
+ */
+public class Tunables extends SubsystemBase {
+  private final NetworkTableInstance inst;
+  private final NetworkTable table;
+  private final List<TunableNumber> numbers = new ArrayList<>();
+
+  /* Set by listeners when any tunable has a pending remote change */
+  private volatile boolean dirty = false;
+  /* Loops that had to look at the tunables, i.e. had a pending change */
+  private long scanCount = 0;
+
+  private final int periodicProfile = LoopProfiler.register("Tunables.periodic");
+
+  /** Creates tunables on the default NetworkTables instance. */
+  public Tunables() {
+    this(NetworkTableInstance.getDefault());
+  }
+
+  /**
+   * Creates tunables on a NetworkTables instance.
+   *
+   * @param inst Instance to publish and listen on
+   */
+  public Tunables(NetworkTableInstance inst) {
+    this.inst = inst;
+    table = inst.getTable("SmartDashboard");
+  }
+
+  /** A single tunable number. */
+  public final class TunableNumber {
+    private final DoubleEntry entry;
+    private final DoubleConsumer onChange;
+    private double value;
+
+    /* Written by the listener thread, read by the main thread */
+    private volatile double pendingValue;
+    private volatile boolean pending = false;
+
+    private TunableNumber(String key, double defaultValue, DoubleConsumer onChange) {
+      this.onChange = onChange;
+      value = defaultValue;
+      entry = table.getDoubleTopic(key).getEntry(defaultValue);
+      entry.set(defaultValue);
+
+      inst.addListener(entry, EnumSet.of(NetworkTableEvent.Kind.kValueRemote), event -> {
+        pendingValue = event.valueData.value.getDouble();
+        pending = true;
+        dirty = true;
+      });
+    }
+
+    /** Current value as last applied to robot code. */
+    public double get() {
+      return value;
+    }
+
+    /**
+     * Sets the value from robot code, publishing it to the dashboard and applying it immediately.
+     *
+     * @param newValue New value
+     */
+    public void set(double newValue) {
+      entry.set(newValue);
+      apply(newValue);
+    }
+
+    private void applyPending() {
+      if (pending) {
+        pending = false;
+        apply(pendingValue);
+      }
+    }
+
+    private void apply(double newValue) {
+      if (newValue != value) {
+        value = newValue;
+        onChange.accept(newValue);
+      }
+    }
+  }
+
+  /**
+   * Adds a tunable number under SmartDashboard.
+   *
+   * @param key          SmartDashboard key
+   * @param defaultValue Initial value to publish
+   * @param onChange     Called on the main thread with the new value whenever it changes
+   * @return The tunable number
+   */
+  public TunableNumber addNumber(String key, double defaultValue, DoubleConsumer onChange) {
+    TunableNumber number = new TunableNumber(key, defaultValue, onChange);
+    numbers.add(number);
+    return number;
+  }
+
+  @Override
+  public void periodic() {
+    final long start = LoopProfiler.start();
+    if (dirty) {
+      dirty = false;
+      ++scanCount;
+      for (int i = 0; i < numbers.size(); ++i) {
+        numbers.get(i).applyPending();
+      }
+    }
+    LoopProfiler.record(periodicProfile, start);
+  }
+
+  /** Number of loops that looked at any tunable, because a remote change was pending. */
+  public long getScanCount() {
+    return scanCount;
+  }
+}
@@ -0,0 +1,98 @@
+package frc.robot.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single-producer/single-consumer ring of fixed-width double slots.
+ * <p>
+ * All storage is allocated up front. The producer fills a slot with {@link #beginWrite()} and
+ * {@link #commitWrite()}, the consumer drains with {@link #beginRead()} and {@link #commitRead()}.
+ * When the ring is full new samples are dropped rather than blocking the producer.
+ */
+public class DoubleRingBuffer {
+    private final double[] m_data;
+    private final int m_slotWidth;
+    private final int m_mask;
+
+    /* Next slot to read, only written by the consumer */
+    private final AtomicLong m_head = new AtomicLong();
+    /* Next slot to write, only written by the producer */
+    private final AtomicLong m_tail = new AtomicLong();
+
+    /* Producer-side counters */
+    private volatile long m_dropped = 0;
+    private volatile long m_overflows = 0;
+    private boolean m_wasFull = false;
+
+    /**
+     * Constructs a ring buffer.
+     *
+     * @param capacity  Number of slots, must be a power of two
+     * @param slotWidth Number of doubles in each slot
+     */
+    public DoubleRingBuffer(int capacity, int slotWidth) {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two");
+        }
+        m_data = new double[capacity * slotWidth];
+        m_slotWidth = slotWidth;
+        m_mask = capacity - 1;
+    }
+
+    /** Backing array; slots start at the offsets returned by {@link #beginWrite()} and {@link #beginRead()}. */
+    public double[] data() {
+        return m_data;
+    }
+
+    /**
+     * Claims the next free slot for the producer.
+     *
+     * @return Offset of the slot in {@link #data()}, or -1 if the ring is full and the sample is dropped
+     */
+    public int beginWrite() {
+        long tail = m_tail.get();
+        if (tail - m_head.get() > m_mask) {
+            if (!m_wasFull) {
+                m_wasFull = true;
+                m_overflows = m_overflows + 1;
+            }
+            m_dropped = m_dropped + 1;
+            return -1;
+        }
+        m_wasFull = false;
+        return (int) (tail & m_mask) * m_slotWidth;
+    }
+
+    /** Publishes the slot claimed by {@link #beginWrite()} to the consumer. */
+    public void commitWrite() {
+        m_tail.lazySet(m_tail.get() + 1);
+    }
+
+    /**
+     * Gets the oldest unread slot for the consumer.
+     *
+     * @return Offset of the slot in {@link #data()}, or -1 if the ring is empty
+     */
+    public int beginRead() {
+        long head = m_head.get();
+        if (head == m_tail.get()) {
+            return -1;
+        }
+        return (int) (head & m_mask) * m_slotWidth;
+    }
+
+    /** Releases the slot returned by {@link #beginRead()} back to the producer. */
+    public void commitRead() {
+        m_head.lazySet(m_head.get() + 1);
+    }
+
+    /** Total number of samples dropped because the ring was full. */
+    public long getDroppedCount() {
+        return m_dropped;
+    }
+
+    /** Number of times the ring went from having space to being full. */
+    public long getOverflowCount() {
+        return m_overflows;
+    }
+}
@@ -0,0 +1,86 @@
+package frc.robot.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram of durations in nanoseconds.
+ * <p>
+ * Each power of two is split into 8 buckets, so reported percentiles are within ~12.5% of the
+ * true value. Recording never allocates.
+ */
+public class LatencyHistogram {
+    private static final int kSubBucketBits = 3;
+    private static final int kSubBuckets = 1 << kSubBucketBits;
+
+    private final int[] m_counts = new int[64 * kSubBuckets];
+    private int m_total = 0;
+    private long m_max = 0;
+
+    /** Records one duration in nanoseconds. */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        m_counts[bucketOf(nanos)]++;
+        m_total++;
+        if (nanos > m_max) {
+            m_max = nanos;
+        }
+    }
+
+    /** Number of recorded samples since the last reset. */
+    public int getCount() {
+        return m_total;
+    }
+
+    /** Largest recorded duration in nanoseconds. */
+    public long getMax() {
+        return m_max;
+    }
+
+    /**
+     * Gets the duration below which the given fraction of samples fall.
+     *
+     * @param fraction Percentile as a fraction, e.g. 0.99
+     * @return Upper edge of the bucket holding the percentile in nanoseconds, or 0 if empty
+     */
+    public long getPercentile(double fraction) {
+        if (m_total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(fraction * m_total);
+        long seen = 0;
+        for (int i = 0; i < m_counts.length; ++i) {
+            seen += m_counts[i];
+            if (seen >= target) {
+                return Math.min(upperEdgeOf(i), m_max);
+            }
+        }
+        return m_max;
+    }
+
+    /** Clears all samples. */
+    public void reset() {
+        Arrays.fill(m_counts, 0);
+        m_total = 0;
+        m_max = 0;
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos < kSubBuckets) {
+            return (int) nanos;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exp - kSubBucketBits)) & (kSubBuckets - 1);
+        return exp * kSubBuckets + sub;
+    }
+
+    private static long upperEdgeOf(int bucket) {
+        int exp = bucket / kSubBuckets;
+        int sub = bucket % kSubBuckets;
+        if (exp < kSubBucketBits) {
+            return bucket;
+        }
+        return ((long) (kSubBuckets + sub + 1) << (exp - kSubBucketBits)) - 1;
+    }
+}
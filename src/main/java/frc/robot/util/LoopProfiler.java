@@ -0,0 +1,190 @@
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ctre.phoenix6.SignalLogger;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.WrapperCommand;
+
+/**
+ * Records per-loop timings of named components (subsystem periodics, command executes,
+ * trigger polls) into fixed-size histograms.
+ * <p>
+ * Components are registered once at startup. Every loop the timed code calls
+ * {@link #record(int, long)}, and {@link #publish()} is called once per robot loop.
+ * Every {@link #kPublishPeriodLoops} loops the p50/p99/max of each component is published to
+ * NetworkTables under {@code LoopProfiler/}, written to the log, and the window is reset.
+ * All of this runs on the main robot thread.
+ * <p>
+ * The time each component took in the current loop is also kept, so {@link LoopWatchdog} can
+ * name the slowest one when a loop overruns. Sections that contain other sections are registered
+ * with {@link #registerAggregate(String)} so they don't take the blame for their children.
+ */
+public final class LoopProfiler {
+    /* Publish once a second at the 20 ms loop period */
+    private static final int kPublishPeriodLoops = 50;
+    private static final double kNanosToMs = 1e-6;
+
+    private static final NetworkTable s_table = NetworkTableInstance.getDefault().getTable("LoopProfiler");
+    private static final List<Component> s_components = new ArrayList<>();
+    private static int s_loopsSincePublish = 0;
+    private static boolean s_networkTablesEnabled = true;
+
+    private LoopProfiler() {}
+
+    private static final class Component {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final String logName;
+        final DoublePublisher p50;
+        final DoublePublisher p99;
+        final DoublePublisher max;
+        final double[] logArray = new double[3];
+        final String name;
+        final boolean aggregate;
+        long loopNanos = 0;
+
+        Component(String name, boolean aggregate) {
+            this.name = name;
+            this.aggregate = aggregate;
+            logName = "LoopProfiler/" + name;
+            p50 = s_table.getDoubleTopic(name + "/p50Ms").publish();
+            p99 = s_table.getDoubleTopic(name + "/p99Ms").publish();
+            max = s_table.getDoubleTopic(name + "/maxMs").publish();
+        }
+    }
+
+    /**
+     * Registers a component to be timed. Call at startup, not in the loop.
+     *
+     * @param name Name to publish the timings under
+     * @return Handle to pass to {@link #record(int, long)}
+     */
+    public static int register(String name) {
+        s_components.add(new Component(name, false));
+        return s_components.size() - 1;
+    }
+
+    /**
+     * Registers a section that encloses other timed components, like the whole robot loop or the
+     * command scheduler. It is timed like any other, but never reported as the slowest this loop.
+     *
+     * @param name Name to publish the timings under
+     * @return Handle to pass to {@link #record(int, long)}
+     */
+    public static int registerAggregate(String name) {
+        s_components.add(new Component(name, true));
+        return s_components.size() - 1;
+    }
+
+    /** Start timestamp for a section, to pass to {@link #record(int, long)}. */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time since {@code startNanos} for a component.
+     *
+     * @param id         Handle from {@link #register(String)}
+     * @param startNanos Timestamp from {@link #start()}
+     */
+    public static void record(int id, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        Component component = s_components.get(id);
+        component.histogram.record(nanos);
+        component.loopNanos += nanos;
+    }
+
+    /**
+     * The non-aggregate component that took the longest this loop. Call before {@link #publish()},
+     * which starts the next loop.
+     *
+     * @return Handle of the slowest component, or -1 if nothing was recorded
+     */
+    public static int getSlowestThisLoop() {
+        int slowest = -1;
+        long slowestNanos = 0;
+        for (int i = 0; i < s_components.size(); ++i) {
+            Component component = s_components.get(i);
+            if (!component.aggregate && component.loopNanos > slowestNanos) {
+                slowest = i;
+                slowestNanos = component.loopNanos;
+            }
+        }
+        return slowest;
+    }
+
+    /** Time a component took this loop in nanoseconds, summed over every call. */
+    public static long getLoopNanos(int id) {
+        return s_components.get(id).loopNanos;
+    }
+
+    /** Name a component was registered under. */
+    public static String getName(int id) {
+        return s_components.get(id).name;
+    }
+
+    /**
+     * Enables or disables publishing to NetworkTables. The log file keeps receiving the timings
+     * while this is off.
+     */
+    public static void setNetworkTablesEnabled(boolean enabled) {
+        s_networkTablesEnabled = enabled;
+    }
+
+    /**
+     * Starts the next loop, and publishes and resets the histograms once every publish period.
+     * Call once per robot loop, at the end.
+     */
+    public static void publish() {
+        for (int i = 0; i < s_components.size(); ++i) {
+            s_components.get(i).loopNanos = 0;
+        }
+        if (++s_loopsSincePublish < kPublishPeriodLoops) {
+            return;
+        }
+        s_loopsSincePublish = 0;
+
+        for (int i = 0; i < s_components.size(); ++i) {
+            Component component = s_components.get(i);
+            LatencyHistogram histogram = component.histogram;
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+
+            component.logArray[0] = histogram.getPercentile(0.5) * kNanosToMs;
+            component.logArray[1] = histogram.getPercentile(0.99) * kNanosToMs;
+            component.logArray[2] = histogram.getMax() * kNanosToMs;
+            if (s_networkTablesEnabled) {
+                component.p50.set(component.logArray[0]);
+                component.p99.set(component.logArray[1]);
+                component.max.set(component.logArray[2]);
+            }
+            SignalLogger.writeDoubleArray(component.logName, component.logArray, "ms");
+
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Wraps a command so each of its {@code execute()} calls is timed under the command's name.
+     *
+     * @param command Command to profile
+     * @return Wrapped command; schedule and query this instead of the original
+     */
+    public static Command profile(Command command) {
+        int id = register(command.getName());
+        return new WrapperCommand(command) {
+            @Override
+            public void execute() {
+                long start = System.nanoTime();
+                m_command.execute();
+                record(id, start);
+            }
+        };
+    }
+}
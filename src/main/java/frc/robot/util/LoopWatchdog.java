@@ -0,0 +1,158 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.SignalLogger;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringPublisher;
+
+/**
+ * Watches the robot loop time against a budget, names the section that caused each overrun, and
+ * sheds optional work while the loop is over budget.
+ * <p>
+ * Call {@link #endLoop(long)} once per loop with the time {@code robotPeriodic} took, before
+ * {@link LoopProfiler#publish()}. A loop longer than the period is an overrun, and the slowest
+ * {@link LoopProfiler} section of that loop is logged as its cause. When the average over the last
+ * {@link #kWindowLoops} loops is over budget, one more {@link Shed} stage is shed, at most once
+ * every {@link #kEscalateLoops} loops. Stages come back one at a time, most important first, after
+ * {@link #kRestoreLoops} loops in a row comfortably under budget.
+ * <p>
+ * Not every stage takes work off the robot thread. The Mechanism2d and drive state telemetry run on
+ * the telemetry consumer thread, so shedding them relieves CPU contention on the roboRIO's two
+ * cores rather than shortening {@code robotPeriodic} directly. The dashboard stage also drops the
+ * robot thread's per-loop NetworkTables flush and profiler publishing, and the vision stage skips
+ * pose estimation, which is the largest optional cost in the loop when cameras are enabled.
+ */
+public final class LoopWatchdog {
+    /** Optional work, in the order it is shed. */
+    public enum Shed {
+        /** Mechanism2d module visuals, on the telemetry thread */
+        MECHANISM2D,
+        /**
+         * NetworkTables drive state and Field2d on the telemetry thread, plus the robot thread's
+         * NetworkTables flush and profiler publishing
+         */
+        DASHBOARD,
+        /** Vision pose estimation; nothing to shed while vision is disabled */
+        VISION,
+    }
+
+    private static final Shed[] kStages = Shed.values();
+
+    /* Leaves room in the period for the SmartDashboard and LiveWindow updates after robotPeriodic */
+    private static final double kBudgetFraction = 0.75;
+    /* Restore only with real headroom, so a stage doesn't flap in and out */
+    private static final double kRestoreFraction = 0.6;
+    private static final int kWindowLoops = 10;
+    private static final int kEscalateLoops = 5;
+    private static final int kRestoreLoops = 50;
+    private static final double kNanosToMs = 1e-6;
+
+    private final long m_periodNanos;
+    private final long m_budgetNanos;
+    private final long m_restoreNanos;
+
+    private final long[] m_window = new long[kWindowLoops];
+    private int m_windowIndex = 0;
+    private long m_windowSum = 0;
+
+    private int m_shedLevel = 0;
+    private int m_loopsSinceChange = 0;
+    private int m_quietLoops = 0;
+    private long m_overrunCount = 0;
+    /* Loop time and the slowest stage's time of the last overrun */
+    private final double[] m_overrunArray = new double[2];
+
+    private final NetworkTable m_table = NetworkTableInstance.getDefault().getTable("LoopWatchdog");
+    private final IntegerPublisher m_shedLevelPub = m_table.getIntegerTopic("ShedLevel").publish();
+    private final IntegerPublisher m_overrunCountPub = m_table.getIntegerTopic("OverrunCount").publish();
+    private final StringPublisher m_lastOverrunStagePub = m_table.getStringTopic("LastOverrunStage").publish();
+    private final DoublePublisher m_lastOverrunMsPub = m_table.getDoubleTopic("LastOverrunMs").publish();
+
+    /**
+     * Constructs a watchdog for a robot loop period.
+     *
+     * @param periodSeconds Robot loop period in seconds
+     */
+    public LoopWatchdog(double periodSeconds) {
+        m_periodNanos = (long) (periodSeconds * 1e9);
+        m_budgetNanos = (long) (m_periodNanos * kBudgetFraction);
+        m_restoreNanos = (long) (m_budgetNanos * kRestoreFraction);
+        m_shedLevelPub.set(0);
+        m_overrunCountPub.set(0);
+        m_lastOverrunStagePub.set("");
+    }
+
+    /**
+     * Accounts for one loop. Call at the end of {@code robotPeriodic}, before
+     * {@link LoopProfiler#publish()} resets the per-loop section times.
+     *
+     * @param loopNanos Time {@code robotPeriodic} took this loop
+     */
+    public void endLoop(long loopNanos) {
+        m_windowSum += loopNanos - m_window[m_windowIndex];
+        m_window[m_windowIndex] = loopNanos;
+        m_windowIndex = (m_windowIndex + 1) % kWindowLoops;
+        long average = m_windowSum / kWindowLoops;
+
+        if (loopNanos > m_periodNanos) {
+            attributeOverrun(loopNanos);
+        }
+
+        ++m_loopsSinceChange;
+        if (average > m_budgetNanos) {
+            m_quietLoops = 0;
+            if (m_shedLevel < kStages.length && m_loopsSinceChange >= kEscalateLoops) {
+                setShedLevel(m_shedLevel + 1);
+            }
+        } else if (average < m_restoreNanos) {
+            if (++m_quietLoops >= kRestoreLoops && m_shedLevel > 0) {
+                setShedLevel(m_shedLevel - 1);
+            }
+        } else {
+            m_quietLoops = 0;
+        }
+    }
+
+    /* Only runs on an overrun, so building the stage string here doesn't cost the normal loop */
+    private void attributeOverrun(long loopNanos) {
+        ++m_overrunCount;
+        int slowest = LoopProfiler.getSlowestThisLoop();
+        String stage = slowest < 0 ? "unknown" : LoopProfiler.getName(slowest);
+        double stageMs = slowest < 0 ? 0 : LoopProfiler.getLoopNanos(slowest) * kNanosToMs;
+        double loopMs = loopNanos * kNanosToMs;
+
+        m_overrunCountPub.set(m_overrunCount);
+        m_lastOverrunStagePub.set(stage);
+        m_lastOverrunMsPub.set(loopMs);
+        SignalLogger.writeString("LoopWatchdog/OverrunStage", stage);
+        m_overrunArray[0] = loopMs;
+        m_overrunArray[1] = stageMs;
+        SignalLogger.writeDoubleArray("LoopWatchdog/Overrun", m_overrunArray, "ms");
+    }
+
+    private void setShedLevel(int level) {
+        m_shedLevel = level;
+        m_loopsSinceChange = 0;
+        m_quietLoops = 0;
+        m_shedLevelPub.set(level);
+        SignalLogger.writeInteger("LoopWatchdog/ShedLevel", level, "");
+    }
+
+    /** Whether a stage is currently shed. */
+    public boolean isShed(Shed stage) {
+        return m_shedLevel > stage.ordinal();
+    }
+
+    /** Number of stages currently shed, from 0 to the number of {@link Shed} stages. */
+    public int getShedLevel() {
+        return m_shedLevel;
+    }
+
+    /** Number of loops that took longer than the period. */
+    public long getOverrunCount() {
+        return m_overrunCount;
+    }
+}
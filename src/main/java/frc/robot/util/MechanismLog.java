@@ -0,0 +1,285 @@
+package frc.robot.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.DoubleSupplier;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Appends fixed-schema mechanism samples to a memory-mapped file.
+ * <p>
+ * Columns are registered once at startup as suppliers of primitive values. Each call to
+ * {@link #append()} writes the FPGA timestamp and one float per column straight into the mapped
+ * segment and bumps the record count in the header, so a record costs a few buffer puts and no
+ * allocation, and a log cut off by a power loss is still readable up to the last record. Segments
+ * are pre-sized for {@link #kDefaultCapacity} records and created and mapped on a background thread
+ * while the robot is disabled, so starting a match does not wait on the USB stick. A segment is
+ * never mapped on the robot thread: if it isn't ready when a match starts, records are skipped until
+ * it is. The next segment is mapped once the current one is nearly full, and writing rotates into it
+ * when the current one fills; records are only dropped if it still isn't ready.
+ * <p>
+ * File layout, little-endian: a header of magic, version, column count, record capacity, header
+ * size and record count, followed by the column names, then fixed-size records of a double
+ * timestamp and one float per column. {@code MechanismLogDecoder} in the sim source set exports
+ * segments to CSV.
+ */
+public final class MechanismLog {
+    public static final int kMagic = 0x474F4C4D; // "MLOG"
+    public static final int kVersion = 1;
+
+    /* Header field offsets */
+    public static final int kColumnCountOffset = 8;
+    public static final int kCapacityOffset = 12;
+    public static final int kHeaderSizeOffset = 16;
+    public static final int kRecordCountOffset = 24;
+    public static final int kColumnNamesOffset = 32;
+
+    /* 10 minutes at the 50 Hz loop rate covers a match plus queueing and field faults */
+    public static final int kDefaultCapacity = 30000;
+    /* Start mapping the next segment once the current one is this full, so it's ready to rotate into */
+    private static final double kPrepareNextFraction = 0.9;
+
+    /* The roboRIO mounts the first USB stick here */
+    private static final File kUsbDirectory = new File("/U");
+    private static final DateTimeFormatter kFileTime = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final File m_directory;
+    private final int m_capacity;
+    private final List<String> m_names = new ArrayList<>();
+    private final List<DoubleSupplier> m_suppliers = new ArrayList<>();
+    private DoubleSupplier[] m_columns = null;
+    private int m_headerSize;
+    private int m_recordSize;
+
+    private final ExecutorService m_io = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "MechanismLog");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /* Next segment, mapped in the background; null until ready */
+    private volatile MappedByteBuffer m_prepared = null;
+    /* Set while a background prepare is running, cleared by the background thread */
+    private volatile boolean m_preparing = false;
+
+    /* Segment being written, or null between matches */
+    private MappedByteBuffer m_segment = null;
+    private int m_position;
+    private long m_recordCount;
+    private long m_prepareNextAt;
+    /* Started before a segment was ready; the prepared segment is opened as soon as it is */
+    private boolean m_startPending = false;
+    private long m_dropped = 0;
+    private boolean m_warnedDropping = false;
+
+    /**
+     * Constructs a log that writes to the USB stick on the robot, or {@code logs/} in simulation.
+     */
+    public MechanismLog() {
+        this(defaultDirectory(), kDefaultCapacity);
+    }
+
+    /**
+     * Constructs a log.
+     *
+     * @param directory Directory to create segment files in
+     * @param capacity  Records per segment; records past this are dropped
+     */
+    public MechanismLog(File directory, int capacity) {
+        m_directory = directory;
+        m_capacity = capacity;
+    }
+
+    private static File defaultDirectory() {
+        File base = RobotBase.isReal() && kUsbDirectory.isDirectory() ? kUsbDirectory : new File("logs");
+        return new File(base, "mechanism");
+    }
+
+    /**
+     * Adds a column. Call at startup, before the first {@link #prepare()} or {@link #start()}.
+     *
+     * @param name     Column name, e.g. {@code Pivot/position}
+     * @param supplier Supplies the column's value for each record
+     */
+    public void addColumn(String name, DoubleSupplier supplier) {
+        if (m_columns != null) {
+            throw new IllegalStateException("MechanismLog columns are fixed once a segment is prepared");
+        }
+        m_names.add(name);
+        m_suppliers.add(supplier);
+    }
+
+    /* Fixes the schema and computes the layout */
+    private void freeze() {
+        if (m_columns != null) {
+            return;
+        }
+        m_columns = m_suppliers.toArray(new DoubleSupplier[0]);
+        int namesSize = 0;
+        for (String name : m_names) {
+            namesSize += 2 + name.getBytes(StandardCharsets.UTF_8).length;
+        }
+        /* Keep records 8-byte aligned */
+        m_headerSize = (kColumnNamesOffset + namesSize + 7) & ~7;
+        m_recordSize = 8 + 4 * m_columns.length;
+    }
+
+    /** Creates and maps the next segment in the background. Call while disabled. */
+    public void prepare() {
+        freeze();
+        /* Check m_preparing first: the background thread sets m_prepared before it clears m_preparing */
+        if (m_preparing || m_prepared != null) {
+            return;
+        }
+        m_preparing = true;
+        m_io.execute(() -> {
+            try {
+                m_prepared = map();
+            } catch (IOException e) {
+                DriverStation.reportWarning("MechanismLog: could not create a segment: " + e.getMessage(), false);
+            } finally {
+                m_preparing = false;
+            }
+        });
+    }
+
+    private MappedByteBuffer map() throws IOException {
+        if (!m_directory.isDirectory() && !m_directory.mkdirs()) {
+            throw new IOException("could not create " + m_directory);
+        }
+        File file = new File(m_directory, "mech_" + LocalDateTime.now().format(kFileTime) + "_"
+            + Long.toHexString(System.nanoTime() & 0xFFFF) + ".mlog");
+        long size = m_headerSize + (long) m_recordSize * m_capacity;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(size);
+            /* The mapping stays valid after the channel is closed */
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, kMagic);
+            buffer.putInt(4, kVersion);
+            buffer.putInt(kColumnCountOffset, m_columns.length);
+            buffer.putInt(kCapacityOffset, m_capacity);
+            buffer.putInt(kHeaderSizeOffset, m_headerSize);
+            buffer.putLong(kRecordCountOffset, 0);
+            buffer.position(kColumnNamesOffset);
+            for (String name : m_names) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                buffer.putShort((short) bytes.length);
+                buffer.put(bytes);
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Starts writing a segment, if one isn't already open. Uses the prepared segment; if it isn't
+     * ready yet, records are skipped until the background thread has mapped it.
+     */
+    public void start() {
+        if (m_segment != null) {
+            return;
+        }
+        if (!openPrepared()) {
+            m_startPending = true;
+            prepare();
+        }
+    }
+
+    /* Makes the prepared segment the current one, if it is ready */
+    private boolean openPrepared() {
+        MappedByteBuffer segment = m_prepared;
+        if (segment == null) {
+            return false;
+        }
+        m_prepared = null;
+        m_startPending = false;
+        m_segment = segment;
+        m_position = m_headerSize;
+        m_recordCount = 0;
+        m_prepareNextAt = (long) (m_capacity * kPrepareNextFraction);
+        m_warnedDropping = false;
+        return true;
+    }
+
+    /* Flushes the current segment in the background and stops writing it */
+    private void close() {
+        MappedByteBuffer segment = m_segment;
+        m_segment = null;
+        m_io.execute(segment::force);
+    }
+
+    /** Writes one record of every column. Does nothing if no segment is open. */
+    public void append() {
+        if (m_segment == null && !(m_startPending && openPrepared())) {
+            return;
+        }
+        if (m_recordCount >= m_capacity) {
+            /* Rotate into the next segment, which was prepared when this one was nearly full */
+            if (m_prepared == null) {
+                dropRecord();
+                return;
+            }
+            close();
+            openPrepared();
+        } else if (m_recordCount == m_prepareNextAt) {
+            prepare();
+        }
+        MappedByteBuffer segment = m_segment;
+        int position = m_position;
+        segment.putDouble(position, Timer.getFPGATimestamp());
+        position += 8;
+        for (DoubleSupplier column : m_columns) {
+            segment.putFloat(position, (float) column.getAsDouble());
+            position += 4;
+        }
+        m_position = position;
+        /* Publish the record only after its data is written */
+        segment.putLong(kRecordCountOffset, ++m_recordCount);
+    }
+
+    private void dropRecord() {
+        ++m_dropped;
+        if (!m_warnedDropping) {
+            m_warnedDropping = true;
+            DriverStation.reportWarning("MechanismLog: segment full and the next one isn't ready, dropping records", false);
+        }
+    }
+
+    /** Closes the current segment, flushes it in the background, and prepares the next one. */
+    public void finish() {
+        m_startPending = false;
+        if (m_segment == null) {
+            return;
+        }
+        close();
+        prepare();
+    }
+
+    /** Whether a segment is open. */
+    public boolean isWriting() {
+        return m_segment != null;
+    }
+
+    /** Whether the next segment has been mapped and is ready to write. */
+    boolean isNextReady() {
+        return m_prepared != null;
+    }
+
+    /** Records dropped because a segment was full and the next one wasn't ready. */
+    public long getDroppedCount() {
+        return m_dropped;
+    }
+}
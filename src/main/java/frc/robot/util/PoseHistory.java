@@ -0,0 +1,143 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+import edu.wpi.first.math.MathUtil;
+
+/**
+ * Time-indexed ring of recent robot poses in primitive arrays.
+ * <p>
+ * Written from the odometry thread through the drivetrain telemetry callback and read from the
+ * main thread. Lookups binary search the ring and interpolate between the two bracketing samples
+ * into a caller-supplied array, so neither side allocates. Timestamps are in the same timebase as
+ * {@link SwerveDriveState#Timestamp}.
+ */
+public class PoseHistory {
+    /* 2.048 s of history at the 250 Hz CANivore odometry rate */
+    public static final int kDefaultCapacity = 512;
+
+    private final double[] m_timestamps;
+    private final double[] m_x;
+    private final double[] m_y;
+    private final double[] m_theta;
+    private final int m_mask;
+
+    /* Index of the oldest sample and number of valid samples */
+    private int m_start = 0;
+    private int m_count = 0;
+
+    /** Constructs a pose history with {@link #kDefaultCapacity} samples. */
+    public PoseHistory() {
+        this(kDefaultCapacity);
+    }
+
+    /**
+     * Constructs a pose history.
+     *
+     * @param capacity Number of samples to keep, must be a power of two
+     */
+    public PoseHistory(int capacity) {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("Pose history capacity must be a power of two");
+        }
+        m_timestamps = new double[capacity];
+        m_x = new double[capacity];
+        m_y = new double[capacity];
+        m_theta = new double[capacity];
+        m_mask = capacity - 1;
+    }
+
+    /**
+     * Adds the pose from a drivetrain state. Suitable for the drivetrain telemetry callback.
+     *
+     * @param state Drivetrain state
+     */
+    public void add(SwerveDriveState state) {
+        add(state.Timestamp, state.Pose.getX(), state.Pose.getY(), state.Pose.getRotation().getRadians());
+    }
+
+    /**
+     * Adds a pose sample. Samples older than the newest one are ignored.
+     *
+     * @param timestamp Sample time in seconds
+     * @param x         X position in meters
+     * @param y         Y position in meters
+     * @param theta     Heading in radians
+     */
+    public synchronized void add(double timestamp, double x, double y, double theta) {
+        if (m_count > 0 && timestamp <= m_timestamps[(m_start + m_count - 1) & m_mask]) {
+            return;
+        }
+
+        int index;
+        if (m_count <= m_mask) {
+            index = (m_start + m_count) & m_mask;
+            ++m_count;
+        } else {
+            /* Full, overwrite the oldest */
+            index = m_start;
+            m_start = (m_start + 1) & m_mask;
+        }
+        m_timestamps[index] = timestamp;
+        m_x[index] = x;
+        m_y[index] = y;
+        m_theta[index] = theta;
+    }
+
+    /**
+     * Looks up the interpolated pose at a time. Times newer than the latest sample
+     * return the latest sample.
+     *
+     * @param timestamp Time in seconds
+     * @param out       Array of at least 3 to fill with x (m), y (m) and heading (rad)
+     * @return Whether the history covers the time; {@code out} is untouched if not
+     */
+    public synchronized boolean sample(double timestamp, double[] out) {
+        if (m_count == 0 || timestamp < m_timestamps[m_start]) {
+            return false;
+        }
+
+        /* Find the last sample at or before the timestamp */
+        int lo = 0;
+        int hi = m_count - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (m_timestamps[(m_start + mid) & m_mask] <= timestamp) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+
+        int before = (m_start + lo) & m_mask;
+        if (lo == m_count - 1) {
+            out[0] = m_x[before];
+            out[1] = m_y[before];
+            out[2] = m_theta[before];
+            return true;
+        }
+
+        int after = (before + 1) & m_mask;
+        double t = (timestamp - m_timestamps[before]) / (m_timestamps[after] - m_timestamps[before]);
+        out[0] = m_x[before] + (m_x[after] - m_x[before]) * t;
+        out[1] = m_y[before] + (m_y[after] - m_y[before]) * t;
+        out[2] = MathUtil.angleModulus(m_theta[before] + MathUtil.angleModulus(m_theta[after] - m_theta[before]) * t);
+        return true;
+    }
+
+    /** Timestamp of the oldest sample, or NaN if empty. */
+    public synchronized double getOldestTimestamp() {
+        return m_count == 0 ? Double.NaN : m_timestamps[m_start];
+    }
+
+    /** Timestamp of the newest sample, or NaN if empty. */
+    public synchronized double getLatestTimestamp() {
+        return m_count == 0 ? Double.NaN : m_timestamps[(m_start + m_count - 1) & m_mask];
+    }
+
+    /** Removes all samples. */
+    public synchronized void clear() {
+        m_start = 0;
+        m_count = 0;
+    }
+}
@@ -0,0 +1,18 @@
+package frc.robot.util;
+
+/**
+ * A subsystem's sensor inputs for one loop, as plain primitive fields with a fixed layout.
+ * <p>
+ * The layout is what gets written to and read back from the log by {@link ReplayLog}, so append new
+ * fields at the end and never reorder existing ones. Booleans are stored as 0 or 1.
+ */
+public interface ReplayInputs {
+    /** Number of values in the flattened layout. */
+    int size();
+
+    /** Writes the fields into {@code out} in layout order. */
+    void toArray(double[] out);
+
+    /** Reads the fields from {@code in} in layout order. */
+    void fromArray(double[] in);
+}
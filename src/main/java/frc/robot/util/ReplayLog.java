@@ -0,0 +1,337 @@
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ctre.phoenix6.controls.ControlRequest;
+import com.ctre.phoenix6.controls.DutyCycleOut;
+import com.ctre.phoenix6.controls.DynamicMotionMagicVoltage;
+import com.ctre.phoenix6.controls.Follower;
+import com.ctre.phoenix6.controls.PositionVoltage;
+import com.ctre.phoenix6.controls.TorqueCurrentFOC;
+import com.ctre.phoenix6.controls.VelocityVoltage;
+import com.ctre.phoenix6.controls.VoltageOut;
+import com.ctre.phoenix6.swerve.SwerveRequest;
+
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Records every subsystem's inputs and outputs to the WPILib data log, or plays them back.
+ * <p>
+ * Subsystems read sensors only through an IO layer into a {@link ReplayInputs} struct, and call
+ * {@link InputChannel#process()} on it every loop. When recording, that writes the struct to
+ * {@code Replay/Inputs/<name>}. When replaying, it overwrites the struct with the recorded values,
+ * so the rest of the subsystem and every command sees exactly what the robot saw.
+ * <p>
+ * Outputs are encoded into a few numbers per motor or drivetrain: a request type followed by its
+ * main values (see the {@code kType} constants). The last output of each loop is written to
+ * {@code Replay/Outputs/<name>} when recording, and compared against the recorded one when replaying.
+ * {@link #beginLoop()} and {@link #endLoop()} bracket each robot loop and write a
+ * {@code Replay/Loop} marker that the replay engine splits the log on.
+ */
+public final class ReplayLog {
+    public static final String kLoopEntry = "Replay/Loop";
+    public static final String kInputPrefix = "Replay/Inputs/";
+    public static final String kOutputPrefix = "Replay/Outputs/";
+
+    /* Output encoding: [type, value0, value1, value2] */
+    public static final int kOutputWidth = 4;
+    public static final double kTypeNone = 0;
+    public static final double kTypeOther = -1;
+    public static final double kTypeDutyCycle = 1;
+    public static final double kTypeVoltage = 2;
+    public static final double kTypeVelocityVoltage = 3;
+    public static final double kTypePositionVoltage = 4;
+    public static final double kTypeMotionMagicVoltage = 5;
+    public static final double kTypeTorqueCurrent = 6;
+    public static final double kTypeFollower = 7;
+    public static final double kTypeSwerveFieldCentric = 20;
+    public static final double kTypeSwerveRobotCentric = 21;
+    public static final double kTypeSwerveFacingAngle = 22;
+    public static final double kTypeSwerveRobotSpeeds = 23;
+    public static final double kTypeSwerveIdle = 24;
+    public static final double kTypeSwerveBrake = 25;
+
+    /* Replayed outputs that differ by more than this count as a mismatch */
+    private static final double kOutputTolerance = 1e-6;
+
+    private static boolean s_replaying = false;
+    private static final List<InputChannel> s_inputs = new ArrayList<>();
+    private static final List<OutputChannel> s_outputs = new ArrayList<>();
+    private static DoubleLogEntry s_loopEntry = null;
+    private static long s_loop = 0;
+
+    private ReplayLog() {}
+
+    /**
+     * Switches to replay mode. Call before the robot is constructed.
+     *
+     * @param replaying Whether inputs come from a log instead of hardware
+     */
+    public static void setReplaying(boolean replaying) {
+        s_replaying = replaying;
+    }
+
+    /** Whether inputs come from a log instead of hardware. */
+    public static boolean isReplaying() {
+        return s_replaying;
+    }
+
+    private static DataLog log() {
+        return DataLogManager.getLog();
+    }
+
+    /** A subsystem's inputs struct, recorded or replayed once per loop. */
+    public static final class InputChannel {
+        private final String m_name;
+        private final ReplayInputs m_inputs;
+        private final double[] m_values;
+        private final DoubleArrayLogEntry m_entry;
+        private boolean m_hasRecorded = false;
+
+        private InputChannel(String name, ReplayInputs inputs) {
+            m_name = name;
+            m_inputs = inputs;
+            m_values = new double[inputs.size()];
+            m_entry = s_replaying ? null : new DoubleArrayLogEntry(log(), kInputPrefix + name);
+        }
+
+        /** Records the inputs, or replaces them with the recorded ones when replaying. */
+        public void process() {
+            if (s_replaying) {
+                if (m_hasRecorded) {
+                    m_inputs.fromArray(m_values);
+                }
+            } else {
+                m_inputs.toArray(m_values);
+                m_entry.append(m_values);
+            }
+        }
+
+        public String getName() {
+            return m_name;
+        }
+    }
+
+    /** The commanded output of one motor or of the drivetrain. */
+    public static final class OutputChannel {
+        private final String m_name;
+        private final double[] m_current = new double[kOutputWidth];
+        private final double[] m_recorded = new double[kOutputWidth];
+        private final DoubleArrayLogEntry m_entry;
+        private boolean m_set = false;
+        private boolean m_hasRecorded = false;
+        private long m_compared = 0;
+        private long m_mismatches = 0;
+        private long m_firstMismatchLoop = -1;
+
+        private OutputChannel(String name) {
+            m_name = name;
+            m_entry = s_replaying ? null : new DoubleArrayLogEntry(log(), kOutputPrefix + name);
+        }
+
+        /** Notes a control request sent to this motor. */
+        public void record(ControlRequest request) {
+            encode(request, m_current);
+            m_set = true;
+        }
+
+        /** Notes a swerve request sent to the drivetrain. */
+        public void record(SwerveRequest request) {
+            encode(request, m_current);
+            m_set = true;
+        }
+
+        private void endLoop() {
+            if (!s_replaying) {
+                if (m_set) {
+                    m_entry.append(m_current);
+                }
+            } else if (m_set || m_hasRecorded) {
+                ++m_compared;
+                boolean match = m_set == m_hasRecorded;
+                for (int i = 0; match && i < kOutputWidth; ++i) {
+                    match = Math.abs(m_current[i] - m_recorded[i]) <= kOutputTolerance;
+                }
+                if (!match) {
+                    ++m_mismatches;
+                    if (m_firstMismatchLoop < 0) {
+                        m_firstMismatchLoop = s_loop;
+                    }
+                }
+            }
+            m_set = false;
+            m_hasRecorded = false;
+        }
+
+        public String getName() {
+            return m_name;
+        }
+
+        /** Loops in which this output was commanded or recorded, when replaying. */
+        public long getComparedCount() {
+            return m_compared;
+        }
+
+        /** Loops in which the replayed output differed from the recorded one. */
+        public long getMismatchCount() {
+            return m_mismatches;
+        }
+
+        /** Index of the first mismatched loop, or -1. */
+        public long getFirstMismatchLoop() {
+            return m_firstMismatchLoop;
+        }
+    }
+
+    /**
+     * Registers a subsystem's inputs. Call at construction.
+     *
+     * @param name   Name to log under
+     * @param inputs Struct the IO layer fills every loop
+     * @return Channel to call {@link InputChannel#process()} on after the IO update
+     */
+    public static InputChannel inputs(String name, ReplayInputs inputs) {
+        InputChannel channel = new InputChannel(name, inputs);
+        s_inputs.add(channel);
+        return channel;
+    }
+
+    /**
+     * Registers an output. Call at construction.
+     *
+     * @param name Name to log under, e.g. {@code Shooter/inner}
+     * @return Channel to record the output's requests on
+     */
+    public static OutputChannel outputs(String name) {
+        OutputChannel channel = new OutputChannel(name);
+        s_outputs.add(channel);
+        return channel;
+    }
+
+    /** Marks the start of a robot loop. Call first thing in robotPeriodic. */
+    public static void beginLoop() {
+        if (!s_replaying) {
+            if (s_loopEntry == null) {
+                s_loopEntry = new DoubleLogEntry(log(), kLoopEntry);
+            }
+            s_loopEntry.append(Timer.getFPGATimestamp());
+        }
+    }
+
+    /** Writes or compares this loop's outputs. Call last thing in robotPeriodic. */
+    public static void endLoop() {
+        for (int i = 0; i < s_outputs.size(); ++i) {
+            s_outputs.get(i).endLoop();
+        }
+        ++s_loop;
+    }
+
+    /**
+     * Supplies a recorded inputs struct for the next loop when replaying.
+     *
+     * @param name   Channel name, without the log prefix
+     * @param values Recorded values
+     */
+    public static void setRecordedInputs(String name, double[] values) {
+        for (int i = 0; i < s_inputs.size(); ++i) {
+            InputChannel channel = s_inputs.get(i);
+            if (channel.m_name.equals(name)) {
+                System.arraycopy(values, 0, channel.m_values, 0, Math.min(values.length, channel.m_values.length));
+                channel.m_hasRecorded = true;
+            }
+        }
+    }
+
+    /**
+     * Supplies a recorded output for the next loop when replaying.
+     *
+     * @param name   Channel name, without the log prefix
+     * @param values Recorded encoded output
+     */
+    public static void setRecordedOutputs(String name, double[] values) {
+        for (int i = 0; i < s_outputs.size(); ++i) {
+            OutputChannel channel = s_outputs.get(i);
+            if (channel.m_name.equals(name)) {
+                System.arraycopy(values, 0, channel.m_recorded, 0, Math.min(values.length, kOutputWidth));
+                channel.m_hasRecorded = true;
+            }
+        }
+    }
+
+    /** Every registered output, for reporting replay mismatches. */
+    public static List<OutputChannel> getOutputChannels() {
+        return s_outputs;
+    }
+
+    private static void encode(ControlRequest request, double[] out) {
+        out[1] = 0;
+        out[2] = 0;
+        out[3] = 0;
+        if (request instanceof DutyCycleOut r) {
+            out[0] = kTypeDutyCycle;
+            out[1] = r.Output;
+        } else if (request instanceof VoltageOut r) {
+            out[0] = kTypeVoltage;
+            out[1] = r.Output;
+        } else if (request instanceof VelocityVoltage r) {
+            out[0] = kTypeVelocityVoltage;
+            out[1] = r.Velocity;
+            out[2] = r.FeedForward;
+        } else if (request instanceof PositionVoltage r) {
+            out[0] = kTypePositionVoltage;
+            out[1] = r.Position;
+            out[2] = r.FeedForward;
+        } else if (request instanceof DynamicMotionMagicVoltage r) {
+            out[0] = kTypeMotionMagicVoltage;
+            out[1] = r.Position;
+            out[2] = r.FeedForward;
+        } else if (request instanceof TorqueCurrentFOC r) {
+            out[0] = kTypeTorqueCurrent;
+            out[1] = r.Output;
+        } else if (request instanceof Follower r) {
+            out[0] = kTypeFollower;
+            out[1] = r.MasterID;
+            out[2] = r.OpposeMasterDirection ? 1 : 0;
+        } else {
+            out[0] = kTypeOther;
+        }
+    }
+
+    private static void encode(SwerveRequest request, double[] out) {
+        out[1] = 0;
+        out[2] = 0;
+        out[3] = 0;
+        if (request instanceof SwerveRequest.FieldCentric r) {
+            out[0] = kTypeSwerveFieldCentric;
+            out[1] = r.VelocityX;
+            out[2] = r.VelocityY;
+            out[3] = r.RotationalRate;
+        } else if (request instanceof SwerveRequest.RobotCentric r) {
+            out[0] = kTypeSwerveRobotCentric;
+            out[1] = r.VelocityX;
+            out[2] = r.VelocityY;
+            out[3] = r.RotationalRate;
+        } else if (request instanceof SwerveRequest.FieldCentricFacingAngle r) {
+            out[0] = kTypeSwerveFacingAngle;
+            out[1] = r.VelocityX;
+            out[2] = r.VelocityY;
+            out[3] = r.TargetDirection.getRadians();
+        } else if (request instanceof SwerveRequest.ApplyRobotSpeeds r) {
+            out[0] = kTypeSwerveRobotSpeeds;
+            out[1] = r.Speeds.vxMetersPerSecond;
+            out[2] = r.Speeds.vyMetersPerSecond;
+            out[3] = r.Speeds.omegaRadiansPerSecond;
+        } else if (request instanceof SwerveRequest.Idle) {
+            out[0] = kTypeSwerveIdle;
+        } else if (request instanceof SwerveRequest.SwerveDriveBrake) {
+            out[0] = kTypeSwerveBrake;
+        } else {
+            out[0] = kTypeOther;
+        }
+    }
+}
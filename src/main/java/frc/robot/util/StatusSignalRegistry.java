@@ -0,0 +1,128 @@
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.hardware.ParentDevice;
+
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+/**
+ * Central registry of the mechanism status signals.
+ * <p>
+ * Subsystems register the signals they read once at construction, along with the rate they need
+ * them at. {@link #refreshAll()} is then called once at the top of every robot loop, and subsystems
+ * read the cached values with {@code getValue()}/{@code getValueAsDouble()} instead of refreshing
+ * each signal themselves. Signals are grouped per CAN bus since a single refresh call cannot span buses.
+ * <p>
+ * Once every subsystem is constructed, {@link #applyUpdateFrequencies()} applies the declared rates,
+ * turns off every other status frame on the registered devices, and reports the estimated bus load.
+ */
+public final class StatusSignalRegistry {
+    /* Control requests are resent at 100 Hz by default */
+    private static final double kControlFrameHz = 100;
+    /* Rough allowance for the frames optimizeBusUtilization cannot turn off */
+    private static final double kResidualFramesPerDevice = 10;
+    /* Extended CAN 2.0 frame with an 8 byte payload, including worst-case bit stuffing */
+    private static final double kBitsPerFrame = 160;
+    private static final double kCan20BitRate = 1_000_000;
+
+    private static final Map<String, List<BaseStatusSignal>> s_signalsByBus = new LinkedHashMap<>();
+    private static final Map<String, List<ParentDevice>> s_devicesByBus = new LinkedHashMap<>();
+    private static final Map<String, Double> s_signalFramesByBus = new LinkedHashMap<>();
+    private static final List<Runnable> s_frequencySetters = new ArrayList<>();
+    private static BaseStatusSignal[][] s_groups = new BaseStatusSignal[0][];
+
+    private StatusSignalRegistry() {}
+
+    /**
+     * Registers signals to be refreshed every loop.
+     *
+     * @param canBus            Name of the CAN bus the signals' device is on ("" for the roboRIO bus)
+     * @param updateFrequencyHz Rate the device should broadcast these signals at
+     * @param signals           Signals to refresh
+     */
+    public static synchronized void register(String canBus, double updateFrequencyHz, BaseStatusSignal... signals) {
+        retain(canBus, updateFrequencyHz, signals);
+        s_signalsByBus.computeIfAbsent(canBus, k -> new ArrayList<>()).addAll(Arrays.asList(signals));
+
+        /* Rebuild the flattened groups so refreshAll() never touches the map */
+        BaseStatusSignal[][] groups = new BaseStatusSignal[s_signalsByBus.size()][];
+        int i = 0;
+        for (var busSignals : s_signalsByBus.values()) {
+            groups[i++] = busSignals.toArray(new BaseStatusSignal[0]);
+        }
+        s_groups = groups;
+    }
+
+    /**
+     * Keeps signals broadcasting at a rate without refreshing them in robot code,
+     * e.g. the leader signals a follower device listens to.
+     *
+     * @param canBus            Name of the CAN bus the signals' device is on ("" for the roboRIO bus)
+     * @param updateFrequencyHz Rate the device should broadcast these signals at
+     * @param signals           Signals to keep enabled
+     */
+    public static synchronized void retain(String canBus, double updateFrequencyHz, BaseStatusSignal... signals) {
+        s_frequencySetters.add(() -> BaseStatusSignal.setUpdateFrequencyForAll(updateFrequencyHz, signals));
+        s_signalFramesByBus.merge(canBus, updateFrequencyHz * signals.length, Double::sum);
+    }
+
+    /**
+     * Registers devices whose unregistered status signals should be turned off.
+     *
+     * @param canBus  Name of the CAN bus the devices are on ("" for the roboRIO bus)
+     * @param devices Devices to optimize
+     */
+    public static synchronized void addDevices(String canBus, ParentDevice... devices) {
+        s_devicesByBus.computeIfAbsent(canBus, k -> new ArrayList<>()).addAll(Arrays.asList(devices));
+    }
+
+    /**
+     * Applies the registered update frequencies and optimizes bus utilization on every registered device.
+     * Call once at startup after all subsystems are constructed.
+     */
+    public static synchronized void applyUpdateFrequencies() {
+        for (Runnable setter : s_frequencySetters) {
+            setter.run();
+        }
+        for (List<ParentDevice> devices : s_devicesByBus.values()) {
+            ParentDevice.optimizeBusUtilizationForAll(devices.toArray(new ParentDevice[0]));
+        }
+        reportBusLoad();
+    }
+
+    /**
+     * Publishes the estimated mechanism frame load per bus. This is an upper bound: signals are
+     * counted as separate frames even when the device packs several into one, and the CANivore
+     * is estimated as if it were CAN 2.0.
+     */
+    private static void reportBusLoad() {
+        for (var entry : s_devicesByBus.entrySet()) {
+            String bus = entry.getKey();
+            String label = bus.isEmpty() ? "rio" : bus;
+            int deviceCount = entry.getValue().size();
+
+            double framesPerSecond = s_signalFramesByBus.getOrDefault(bus, 0.0)
+                + deviceCount * (kControlFrameHz + kResidualFramesPerDevice);
+            double utilization = framesPerSecond * kBitsPerFrame / kCan20BitRate;
+
+            SmartDashboard.putNumber("CAN/" + label + "/EstimatedFramesPerSecond", framesPerSecond);
+            SmartDashboard.putNumber("CAN/" + label + "/EstimatedUtilization", utilization);
+            DataLogManager.log(String.format("CAN bus %s: ~%.0f mechanism frames/s, ~%.1f%% estimated utilization",
+                label, framesPerSecond, utilization * 100));
+        }
+    }
+
+    /** Refreshes every registered signal with one batched call per CAN bus. */
+    public static void refreshAll() {
+        for (BaseStatusSignal[] group : s_groups) {
+            BaseStatusSignal.refreshAll(group);
+        }
+    }
+}
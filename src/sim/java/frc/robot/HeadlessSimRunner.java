@@ -0,0 +1,274 @@
+package frc.robot;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.pathplanner.lib.util.PathPlannerLogging;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.networktables.DoubleSubscriber;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+
+/**
+ * Runs the full robot program in simulation without the GUI or driver station, stepping HAL sim time
+ * as fast as the robot code can keep up instead of at wall-clock speed.
+ * <p>
+ * Sim timing is paused, then advanced in {@link #kStepSeconds} steps with {@link SimHooks#stepTiming},
+ * which returns once every notifier due in the step has run: the {@link Robot} loop, and the
+ * drivetrain's 5 ms sim thread. The robot is held disabled briefly so the auto chooser selection
+ * lands, then enabled in autonomous for the requested duration, while the distance between the
+ * drivetrain pose and the PathPlanner target pose is tracked. Then it switches to teleop, commands the
+ * flywheels to {@link Constants#shooterSpeed}, and measures the time until they report ready. Last it
+ * fires a simulated note through {@link frc.robot.subsystems.Shooter#noteFired()} and measures the
+ * flywheel recovery.
+ * <p>
+ * Any public static double or boolean in {@link Constants} can be overridden with
+ * {@code --set name=value} before the robot is constructed, which is how {@link ParameterSweep} varies
+ * gains and {@link SpinUpBoostComparison} toggles the spin-up boost. The HAL can
+ * only be initialized once per process, so each run needs its own JVM, and the NT server is stopped
+ * so parallel runs don't contend for its ports. Run with
+ * {@code ./gradlew simulateHeadless -PsimArgs="--set shooterKP=0.3 Bryce Auto 15"}; the result is
+ * printed as a CSV header and one CSV line starting with {@link Result#kLinePrefix}, which is what
+ * {@link ParameterSweep} looks for in the child's output. {@code HeadlessAutoTest} runs the same
+ * thing under {@code ./gradlew test} and fails on a missed path.
+ */
+public final class HeadlessSimRunner {
+    /* Matches the drivetrain sim thread period so no sim update is skipped */
+    private static final double kStepSeconds = 0.005;
+    private static final double kDisabledSeconds = 0.5;
+    private static final double kSpinUpTimeoutSeconds = 3.0;
+    /* Time at speed before the simulated shot, like a driver lining up */
+    private static final double kHoldBeforeShotSeconds = 0.2;
+
+    /* Written by PathPlanner on the robot thread, read between steps */
+    private static volatile Pose2d s_targetPose = null;
+
+    private HeadlessSimRunner() {}
+
+    /** Outcome of one headless run. */
+    public static final class Result {
+        /* Marks the result line on stdout, so robot and JVM output around it can't be mistaken for it */
+        public static final String kLinePrefix = "RESULT,";
+
+        public final String autoName;
+        public final double simSeconds;
+        public final double wallSeconds;
+        public final Pose2d finalPose;
+        /* Distance from the PathPlanner target pose over the auto, in meters */
+        public final double trackingRmsError;
+        public final double trackingMaxError;
+        /* Time from commanding the flywheels to them reporting ready, NaN if they never did */
+        public final double spinUpSeconds;
+        /* Time from a note leaving to the flywheels being back within tolerance, NaN if they never were */
+        public final double recoverySeconds;
+
+        Result(String autoName, double simSeconds, double wallSeconds, Pose2d finalPose,
+                double trackingRmsError, double trackingMaxError, double spinUpSeconds,
+                double recoverySeconds) {
+            this.autoName = autoName;
+            this.simSeconds = simSeconds;
+            this.wallSeconds = wallSeconds;
+            this.finalPose = finalPose;
+            this.trackingRmsError = trackingRmsError;
+            this.trackingMaxError = trackingMaxError;
+            this.spinUpSeconds = spinUpSeconds;
+            this.recoverySeconds = recoverySeconds;
+        }
+
+        /** How many times faster than real time the run was. */
+        public double getSpeedup() {
+            return simSeconds / wallSeconds;
+        }
+
+        public static String csvHeader() {
+            return "auto,simSeconds,wallSeconds,speedup,finalX,finalY,finalHeadingDeg,"
+                + "trackingRmsError,trackingMaxError,spinUpSeconds,recoverySeconds";
+        }
+
+        public String toCsv() {
+            return String.format("\"%s\",%.3f,%.3f,%.1f,%.4f,%.4f,%.3f,%.4f,%.4f,%.3f,%.3f",
+                autoName, simSeconds, wallSeconds, getSpeedup(),
+                finalPose.getX(), finalPose.getY(), finalPose.getRotation().getDegrees(),
+                trackingRmsError, trackingMaxError, spinUpSeconds, recoverySeconds);
+        }
+    }
+
+    /**
+     * Runs an autonomous routine headless. Call at most once per process.
+     *
+     * @param autoName        Name of the PathPlanner auto in the auto chooser
+     * @param durationSeconds Simulated time to run autonomous for
+     * @return Timing, final pose and cost metrics of the run
+     */
+    public static Result runAuto(String autoName, double durationSeconds) throws InterruptedException {
+        if (!HAL.initialize(500, 0)) {
+            throw new IllegalStateException("Failed to initialize the HAL");
+        }
+        SimHooks.pauseTiming();
+        DriverStationSim.setDsAttached(true);
+        DriverStationSim.setAutonomous(true);
+        DriverStationSim.setEnabled(false);
+        DriverStationSim.notifyNewData();
+
+        PathPlannerLogging.setLogTargetPoseCallback(pose -> s_targetPose = pose);
+
+        Robot robot = new Robot();
+        RobotContainer container = robot.getRobotContainer();
+        NetworkTableInstance.getDefault().stopServer();
+        DoubleSubscriber timeToReady = NetworkTableInstance.getDefault().getTable("Shooter")
+            .getDoubleTopic("TimeToReadyMs").subscribe(Double.NaN);
+        DoubleSubscriber recovery = NetworkTableInstance.getDefault().getTable("Shooter")
+            .getDoubleTopic("RecoveryMs").subscribe(Double.NaN);
+
+        Thread robotThread = new Thread(robot::startCompetition, "Robot");
+        robotThread.setDaemon(true);
+        robotThread.start();
+        SimHooks.waitForProgramStart();
+
+        /* Select the auto the same way the dashboard would */
+        NetworkTableInstance.getDefault().getTable("SmartDashboard").getSubTable("Auto Mode")
+            .getEntry("selected").setString(autoName);
+
+        long wallStart = System.nanoTime();
+        double simStart = Timer.getFPGATimestamp();
+        step(kDisabledSeconds);
+
+        DriverStationSim.setEnabled(true);
+        DriverStationSim.notifyNewData();
+        double sumSquaredError = 0;
+        double maxError = 0;
+        int errorSamples = 0;
+        int autoSteps = (int) Math.round(durationSeconds / kStepSeconds);
+        for (int i = 0; i < autoSteps; ++i) {
+            SimHooks.stepTiming(kStepSeconds);
+            Pose2d target = s_targetPose;
+            if (target != null) {
+                double error = container.drivetrain.getState().Pose.getTranslation()
+                    .getDistance(target.getTranslation());
+                sumSquaredError += error * error;
+                maxError = Math.max(maxError, error);
+                ++errorSamples;
+            }
+        }
+        Pose2d finalPose = container.drivetrain.getState().Pose;
+
+        /* Teleop cancels the auto; then time a flywheel spin-up from rest */
+        DriverStationSim.setAutonomous(false);
+        DriverStationSim.notifyNewData();
+        step(kStepSeconds * 4);
+        container.shooter.startWheels(Constants.shooterSpeed);
+        double spinUpSeconds = waitForChange(timeToReady);
+
+        /* Fire a note once at speed and time the recovery */
+        double recoverySeconds = Double.NaN;
+        if (!Double.isNaN(spinUpSeconds)) {
+            step(kHoldBeforeShotSeconds);
+            container.shooter.noteFired();
+            recoverySeconds = waitForChange(recovery);
+        }
+        container.shooter.stopWheels();
+
+        DriverStationSim.setEnabled(false);
+        DriverStationSim.notifyNewData();
+        step(kStepSeconds * 4);
+        double simSeconds = Timer.getFPGATimestamp() - simStart;
+        double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+
+        robot.endCompetition();
+        robotThread.join(1000);
+        return new Result(autoName, simSeconds, wallSeconds, finalPose,
+            errorSamples > 0 ? Math.sqrt(sumSquaredError / errorSamples) : Double.NaN, maxError,
+            spinUpSeconds, recoverySeconds);
+    }
+
+    /** Steps until a milliseconds topic is published again, and returns its value in seconds or NaN. */
+    private static double waitForChange(DoubleSubscriber millis) {
+        long last = millis.getLastChange();
+        int steps = (int) Math.round(kSpinUpTimeoutSeconds / kStepSeconds);
+        for (int i = 0; i < steps; ++i) {
+            SimHooks.stepTiming(kStepSeconds);
+            if (millis.getLastChange() != last) {
+                return millis.get() / 1000.0;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static void step(double seconds) {
+        int steps = (int) Math.round(seconds / kStepSeconds);
+        for (int i = 0; i < steps; ++i) {
+            SimHooks.stepTiming(kStepSeconds);
+        }
+    }
+
+    /**
+     * Overrides a public static double or boolean in {@link Constants}.
+     *
+     * @param assignment {@code name=value}
+     */
+    static void applyOverride(String assignment) {
+        int equals = assignment.indexOf('=');
+        if (equals < 0) {
+            throw new IllegalArgumentException("Expected name=value, got " + assignment);
+        }
+        String name = assignment.substring(0, equals);
+        try {
+            Field field = Constants.class.getField(name);
+            String value = assignment.substring(equals + 1);
+            if (!Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                throw new IllegalArgumentException(name + " is not a mutable static field in Constants");
+            }
+            if (field.getType() == double.class) {
+                field.setDouble(null, Double.parseDouble(value));
+            } else if (field.getType() == boolean.class) {
+                field.setBoolean(null, Boolean.parseBoolean(value));
+            } else {
+                throw new IllegalArgumentException(name + " is not a double or boolean");
+            }
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException("No settable Constants field " + name, e);
+        }
+    }
+
+    /**
+     * Entry point for the simulateHeadless task.
+     *
+     * @param args {@code --set name=value} overrides, then optional auto name words followed by the
+     *             duration in seconds, default "Bryce Auto" 15
+     */
+    public static void main(String[] args) throws InterruptedException {
+        List<String> rest = new ArrayList<>();
+        for (int i = 0; i < args.length; ++i) {
+            if (args[i].equals("--set") && i + 1 < args.length) {
+                applyOverride(args[++i]);
+            } else {
+                rest.add(args[i]);
+            }
+        }
+
+        String autoName = "Bryce Auto";
+        double duration = 15.0;
+        if (!rest.isEmpty()) {
+            try {
+                duration = Double.parseDouble(rest.get(rest.size() - 1));
+                rest.remove(rest.size() - 1);
+            } catch (NumberFormatException e) {
+                /* No duration given, every argument is part of the name */
+            }
+            if (!rest.isEmpty()) {
+                autoName = String.join(" ", rest);
+            }
+        }
+
+        Result result = runAuto(autoName, duration);
+        System.out.println(Result.csvHeader());
+        System.out.println(Result.kLinePrefix + result.toCsv());
+        System.exit(0);
+    }
+}
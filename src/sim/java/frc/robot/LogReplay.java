@@ -0,0 +1,219 @@
+package frc.robot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+
+import frc.robot.util.ReplayLog;
+
+/**
+ * Re-runs the robot program against a recorded match log and checks that it commands the same outputs.
+ * <p>
+ * The log is split into loops on the {@link ReplayLog#kLoopEntry} marker. Before each loop, the DS
+ * state and joysticks recorded by {@code DriverStation.startDataLog} are pushed through
+ * {@link DriverStationSim}, and the recorded subsystem inputs and outputs are handed to
+ * {@link ReplayLog}. Sim time is then stepped by one robot period, so the {@link Robot} runs exactly one
+ * loop in which every subsystem sees the recorded inputs instead of hardware, and every output it
+ * commands is compared against the recorded one. Mismatches are reported per output, with the first
+ * loop they occurred in, which is where to start looking after a logic change.
+ * <p>
+ * Vision frames and anything else read straight from NetworkTables are not recorded, so they are not
+ * replayed. Run with {@code ./gradlew replayLog -PreplayArgs="logs/FRC_20260301_183000.wpilog"}.
+ */
+public final class LogReplay {
+    private static final double kLoopPeriod = 0.02;
+    private static final String kDsPrefix = "DS:";
+
+    private LogReplay() {}
+
+    /** One recorded value for a replay channel or DS field. */
+    private static final class Record {
+        final String name;
+        final DataLogRecord record;
+
+        Record(String name, DataLogRecord record) {
+            this.name = name;
+            this.record = record;
+        }
+    }
+
+    /** Everything recorded for one robot loop. */
+    private static final class Frame {
+        /* DS data refreshed at the start of the loop, before the loop marker */
+        final List<Record> driverStation = new ArrayList<>();
+        final List<Record> inputs = new ArrayList<>();
+        final List<Record> outputs = new ArrayList<>();
+    }
+
+    /**
+     * Splits a log into loops.
+     *
+     * @param path Path to a .wpilog written by the robot
+     * @return Recorded loops in order
+     */
+    static List<Frame> readFrames(String path) throws IOException {
+        DataLogReader reader = new DataLogReader(path);
+        if (!reader.isValid()) {
+            throw new IOException(path + " is not a WPILib data log");
+        }
+
+        Map<Integer, String> names = new HashMap<>();
+        List<Frame> frames = new ArrayList<>();
+        Frame current = null;
+        Frame next = new Frame();
+        for (DataLogRecord record : reader) {
+            if (record.isStart()) {
+                var start = record.getStartData();
+                names.put(start.entry, start.name);
+                continue;
+            }
+            if (record.isControl()) {
+                continue;
+            }
+            String name = names.get(record.getEntry());
+            if (name == null) {
+                continue;
+            }
+
+            if (name.equals(ReplayLog.kLoopEntry)) {
+                current = next;
+                frames.add(current);
+                next = new Frame();
+            } else if (name.startsWith(kDsPrefix)) {
+                next.driverStation.add(new Record(name.substring(kDsPrefix.length()), record));
+            } else if (current == null) {
+                /* Written before the first loop, e.g. during construction */
+                continue;
+            } else if (name.startsWith(ReplayLog.kInputPrefix)) {
+                current.inputs.add(new Record(name.substring(ReplayLog.kInputPrefix.length()), record));
+            } else if (name.startsWith(ReplayLog.kOutputPrefix)) {
+                current.outputs.add(new Record(name.substring(ReplayLog.kOutputPrefix.length()), record));
+            }
+        }
+        return frames;
+    }
+
+    /** Applies one DS log entry, as written by {@code DriverStation.startDataLog}. */
+    private static void applyDriverStation(Record ds) {
+        switch (ds.name) {
+            case "enabled" -> DriverStationSim.setEnabled(ds.record.getBoolean());
+            case "autonomous" -> DriverStationSim.setAutonomous(ds.record.getBoolean());
+            case "test" -> DriverStationSim.setTest(ds.record.getBoolean());
+            case "estop" -> DriverStationSim.setEStop(ds.record.getBoolean());
+            case "fms" -> DriverStationSim.setFmsAttached(ds.record.getBoolean());
+            case "ds" -> DriverStationSim.setDsAttached(ds.record.getBoolean());
+            default -> applyJoystick(ds);
+        }
+    }
+
+    private static void applyJoystick(Record ds) {
+        /* joystick<n>/buttons, joystick<n>/axes or joystick<n>/povs */
+        if (!ds.name.startsWith("joystick")) {
+            return;
+        }
+        int slash = ds.name.indexOf('/');
+        int stick = Integer.parseInt(ds.name.substring("joystick".length(), slash));
+        switch (ds.name.substring(slash + 1)) {
+            case "buttons" -> {
+                boolean[] buttons = ds.record.getBooleanArray();
+                int mask = 0;
+                for (int i = 0; i < buttons.length; ++i) {
+                    if (buttons[i]) {
+                        mask |= 1 << i;
+                    }
+                }
+                DriverStationSim.setJoystickButtonCount(stick, buttons.length);
+                DriverStationSim.setJoystickButtons(stick, mask);
+            }
+            case "axes" -> {
+                float[] axes = ds.record.getFloatArray();
+                DriverStationSim.setJoystickAxisCount(stick, axes.length);
+                for (int i = 0; i < axes.length; ++i) {
+                    DriverStationSim.setJoystickAxis(stick, i, axes[i]);
+                }
+            }
+            case "povs" -> {
+                long[] povs = ds.record.getIntegerArray();
+                DriverStationSim.setJoystickPOVCount(stick, povs.length);
+                for (int i = 0; i < povs.length; ++i) {
+                    DriverStationSim.setJoystickPOV(stick, i, (int) povs[i]);
+                }
+            }
+            default -> {}
+        }
+    }
+
+    /**
+     * Replays a log through a fresh robot. Call at most once per process.
+     *
+     * @param path Path to a .wpilog written by the robot
+     * @return Number of output mismatches across all loops
+     */
+    public static long replay(String path) throws IOException, InterruptedException {
+        List<Frame> frames = readFrames(path);
+        System.out.println("Replaying " + frames.size() + " loops from " + path);
+
+        ReplayLog.setReplaying(true);
+        if (!HAL.initialize(500, 0)) {
+            throw new IllegalStateException("Failed to initialize the HAL");
+        }
+        SimHooks.pauseTiming();
+        DriverStationSim.setDsAttached(true);
+        DriverStationSim.setEnabled(false);
+        DriverStationSim.notifyNewData();
+
+        Robot robot = new Robot();
+        Thread robotThread = new Thread(robot::startCompetition, "Robot");
+        robotThread.setDaemon(true);
+        robotThread.start();
+        SimHooks.waitForProgramStart();
+
+        for (Frame frame : frames) {
+            for (Record ds : frame.driverStation) {
+                applyDriverStation(ds);
+            }
+            DriverStationSim.notifyNewData();
+            for (Record input : frame.inputs) {
+                ReplayLog.setRecordedInputs(input.name, input.record.getDoubleArray());
+            }
+            for (Record output : frame.outputs) {
+                ReplayLog.setRecordedOutputs(output.name, output.record.getDoubleArray());
+            }
+            SimHooks.stepTiming(kLoopPeriod);
+        }
+
+        robot.endCompetition();
+        robotThread.join(1000);
+
+        long mismatches = 0;
+        System.out.println("output,compared,mismatches,firstMismatchLoop");
+        for (ReplayLog.OutputChannel channel : ReplayLog.getOutputChannels()) {
+            System.out.printf("%s,%d,%d,%d%n", channel.getName(), channel.getComparedCount(),
+                channel.getMismatchCount(), channel.getFirstMismatchLoop());
+            mismatches += channel.getMismatchCount();
+        }
+        return mismatches;
+    }
+
+    /**
+     * Entry point for the replayLog task.
+     *
+     * @param args Path to the .wpilog to replay
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 1) {
+            System.err.println("Usage: LogReplay <log.wpilog>");
+            System.exit(2);
+        }
+        long mismatches = replay(args[0]);
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+}
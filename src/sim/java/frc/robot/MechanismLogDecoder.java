@@ -0,0 +1,143 @@
+package frc.robot;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import frc.robot.util.MechanismLog;
+
+/**
+ * Reads {@link MechanismLog} segments into columns and exports them to CSV.
+ * <p>
+ * Only the records counted in the header are read, so a segment from a match that ended early, or
+ * lost power mid-write, decodes to the records that were complete. Run with
+ * {@code ./gradlew decodeMechanismLog -PdecodeArgs="logs/mechanism/mech_20260301_183000_1a2b.mlog"};
+ * each segment is written next to itself with a {@code .csv} extension.
+ */
+public final class MechanismLogDecoder {
+    private MechanismLogDecoder() {}
+
+    /** A decoded segment. */
+    public static final class Segment {
+        public final String[] names;
+        public final double[] timestamps;
+        /* columns[column][record] */
+        public final float[][] columns;
+
+        Segment(String[] names, double[] timestamps, float[][] columns) {
+            this.names = names;
+            this.timestamps = timestamps;
+            this.columns = columns;
+        }
+
+        /** Index of a column by name, or -1. */
+        public int indexOf(String name) {
+            for (int i = 0; i < names.length; ++i) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Reads a segment.
+     *
+     * @param path Segment file
+     * @return Column names and values
+     */
+    public static Segment read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                .order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MechanismLog.kMagic) {
+                throw new IOException(path + " is not a mechanism log");
+            }
+            if (buffer.getInt(4) != MechanismLog.kVersion) {
+                throw new IOException(path + " has unsupported version " + buffer.getInt(4));
+            }
+            int columnCount = buffer.getInt(MechanismLog.kColumnCountOffset);
+            int capacity = buffer.getInt(MechanismLog.kCapacityOffset);
+            int headerSize = buffer.getInt(MechanismLog.kHeaderSizeOffset);
+            int recordCount = (int) Math.min(buffer.getLong(MechanismLog.kRecordCountOffset), capacity);
+            int recordSize = 8 + 4 * columnCount;
+
+            String[] names = new String[columnCount];
+            buffer.position(MechanismLog.kColumnNamesOffset);
+            for (int i = 0; i < columnCount; ++i) {
+                byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(bytes);
+                names[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            double[] timestamps = new double[recordCount];
+            float[][] columns = new float[columnCount][recordCount];
+            for (int r = 0; r < recordCount; ++r) {
+                int position = headerSize + r * recordSize;
+                timestamps[r] = buffer.getDouble(position);
+                position += 8;
+                for (int c = 0; c < columnCount; ++c) {
+                    columns[c][r] = buffer.getFloat(position);
+                    position += 4;
+                }
+            }
+            return new Segment(names, timestamps, columns);
+        }
+    }
+
+    /**
+     * Writes a segment as CSV with a timestamp column first.
+     *
+     * @param segment Decoded segment
+     * @param out     CSV file to write
+     */
+    public static void writeCsv(Segment segment, Path out) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(out)) {
+            writer.write("timestamp");
+            for (String name : segment.names) {
+                writer.write(',');
+                writer.write(name);
+            }
+            writer.newLine();
+            StringBuilder line = new StringBuilder();
+            for (int r = 0; r < segment.timestamps.length; ++r) {
+                line.setLength(0);
+                line.append(segment.timestamps[r]);
+                for (float[] column : segment.columns) {
+                    line.append(',').append(column[r]);
+                }
+                writer.write(line.toString());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Entry point for the decodeMechanismLog task.
+     *
+     * @param args Segment files to export
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: MechanismLogDecoder <segment.mlog>...");
+            System.exit(2);
+        }
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            Segment segment = read(path);
+            String name = path.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            Path out = path.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".csv");
+            writeCsv(segment, out);
+            System.out.println(out + ": " + segment.timestamps.length + " records, "
+                + segment.names.length + " columns");
+        }
+    }
+}
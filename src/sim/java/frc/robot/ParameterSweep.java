@@ -0,0 +1,157 @@
+package frc.robot;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs {@link HeadlessSimRunner} over a grid of {@link Constants} values on a pool of worker processes
+ * and collects the results into a CSV.
+ * <p>
+ * Every grid point runs in its own JVM, since the HAL and the robot's static state can only be set up
+ * once per process. Workers are launched with this JVM's classpath and native library path, and the
+ * pool size defaults to the number of cores. Failed runs are written with an {@code error} column so
+ * a long overnight sweep keeps going.
+ * <p>
+ * Arguments: {@code name=v1,v2,...} for each swept constant, plus optional {@code --auto <name>},
+ * {@code --seconds <s>}, {@code --workers <n>} and {@code --out <file.csv>}. For example
+ * {@code ./gradlew simulateSweep -PsweepArgs="autoTranslationKP=6,8,10,12 autoRotationKP=5,7,9 --workers 8"}.
+ */
+public final class ParameterSweep {
+    private ParameterSweep() {}
+
+    private record Axis(String name, String[] values) {}
+
+    public static void main(String[] args) throws Exception {
+        List<Axis> axes = new ArrayList<>();
+        String autoName = "Bryce Auto";
+        String seconds = "15";
+        int workers = Runtime.getRuntime().availableProcessors();
+        String out = "build/sweep.csv";
+
+        for (int i = 0; i < args.length; ++i) {
+            switch (args[i]) {
+                case "--auto" -> {
+                    /* Auto names can contain spaces, so take words up to the next option */
+                    StringBuilder name = new StringBuilder(args[++i]);
+                    while (i + 1 < args.length && !args[i + 1].startsWith("--") && !args[i + 1].contains("=")) {
+                        name.append(' ').append(args[++i]);
+                    }
+                    autoName = name.toString();
+                }
+                case "--seconds" -> seconds = args[++i];
+                case "--workers" -> workers = Integer.parseInt(args[++i]);
+                case "--out" -> out = args[++i];
+                default -> {
+                    int equals = args[i].indexOf('=');
+                    if (equals < 0) {
+                        throw new IllegalArgumentException("Expected name=v1,v2,... got " + args[i]);
+                    }
+                    axes.add(new Axis(args[i].substring(0, equals), args[i].substring(equals + 1).split(",")));
+                }
+            }
+        }
+
+        /* Cartesian product of the axes, one value index per axis */
+        List<int[]> points = new ArrayList<>();
+        points.add(new int[axes.size()]);
+        for (int a = 0; a < axes.size(); ++a) {
+            List<int[]> expanded = new ArrayList<>();
+            for (int[] point : points) {
+                for (int v = 0; v < axes.get(a).values().length; ++v) {
+                    int[] next = point.clone();
+                    next[a] = v;
+                    expanded.add(next);
+                }
+            }
+            points = expanded;
+        }
+
+        System.out.printf("Sweeping %d runs of \"%s\" on %d workers%n", points.size(), autoName, workers);
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        List<Future<String>> results = new ArrayList<>();
+        for (int[] point : points) {
+            List<String> overrides = new ArrayList<>();
+            for (int a = 0; a < axes.size(); ++a) {
+                overrides.add(axes.get(a).name() + "=" + axes.get(a).values()[point[a]]);
+            }
+            final String auto = autoName;
+            final String duration = seconds;
+            results.add(pool.submit(() -> runWorker(overrides, auto, duration)));
+        }
+
+        File outFile = new File(out);
+        if (outFile.getParentFile() != null) {
+            outFile.getParentFile().mkdirs();
+        }
+        try (PrintWriter writer = new PrintWriter(outFile, StandardCharsets.UTF_8)) {
+            StringBuilder header = new StringBuilder();
+            for (Axis axis : axes) {
+                header.append(axis.name()).append(',');
+            }
+            writer.println(header + HeadlessSimRunner.Result.csvHeader() + ",error");
+
+            for (int i = 0; i < points.size(); ++i) {
+                StringBuilder row = new StringBuilder();
+                for (int a = 0; a < axes.size(); ++a) {
+                    row.append(axes.get(a).values()[points.get(i)[a]]).append(',');
+                }
+                row.append(results.get(i).get());
+                writer.println(row);
+                System.out.printf("[%d/%d] %s%n", i + 1, points.size(), row);
+            }
+        }
+        pool.shutdown();
+        System.out.println("Wrote " + outFile.getAbsolutePath());
+    }
+
+    /** Runs one grid point in a fresh JVM and returns its CSV result columns plus an error column. */
+    static String runWorker(List<String> overrides, String autoName, String seconds) {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+            .orElse(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java"));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-Djava.library.path=" + System.getProperty("java.library.path"));
+        command.add(HeadlessSimRunner.class.getName());
+        for (String override : overrides) {
+            command.add("--set");
+            command.add(override);
+        }
+        command.add(autoName);
+        command.add(seconds);
+
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String result = null;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                /* Only the prefixed line is the result; everything else is robot and JVM output */
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (line.startsWith(HeadlessSimRunner.Result.kLinePrefix)) {
+                        result = line.substring(HeadlessSimRunner.Result.kLinePrefix.length());
+                    }
+                }
+            }
+            int exit = process.waitFor();
+            if (exit != 0 || result == null) {
+                return emptyResult() + (exit != 0 ? "exit " + exit : "no result line");
+            }
+            return result + ",";
+        } catch (IOException | InterruptedException e) {
+            return emptyResult() + e.getClass().getSimpleName();
+        }
+    }
+
+    private static String emptyResult() {
+        return ",".repeat(HeadlessSimRunner.Result.csvHeader().split(",").length);
+    }
+}
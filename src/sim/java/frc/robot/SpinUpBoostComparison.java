@@ -0,0 +1,72 @@
+package frc.robot;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures what the shooter spin-up boost buys in cycle time, by running {@link HeadlessSimRunner}
+ * with {@link Constants#shooterSpinUpBoost} on and off and comparing spin-up and shot recovery.
+ * <p>
+ * Each run gets its own JVM through {@link ParameterSweep}, since the HAL can only be initialized
+ * once per process. Each configuration is run a few times and the median is reported. The auto is
+ * kept short since only the shooter is being measured. Run with
+ * {@code ./gradlew compareSpinUpBoost}, optionally {@code -PcompareArgs="<runs> <shooterSpeed rps>"}.
+ */
+public final class SpinUpBoostComparison {
+    private static final String kAutoName = "Bryce Auto";
+    private static final String kAutoSeconds = "1";
+
+    private SpinUpBoostComparison() {}
+
+    /** Median spin-up and recovery seconds over several runs of one configuration. */
+    private static double[] measure(boolean boost, double shooterSpeed, int runs) {
+        String[] header = HeadlessSimRunner.Result.csvHeader().split(",");
+        int spinUpColumn = List.of(header).indexOf("spinUpSeconds");
+        int recoveryColumn = List.of(header).indexOf("recoverySeconds");
+
+        double[] spinUps = new double[runs];
+        double[] recoveries = new double[runs];
+        for (int i = 0; i < runs; ++i) {
+            String row = ParameterSweep.runWorker(
+                List.of("shooterSpinUpBoost=" + boost, "shooterSpeed=" + shooterSpeed), kAutoName, kAutoSeconds);
+            String[] columns = row.split(",", -1);
+            spinUps[i] = parse(columns[spinUpColumn]);
+            recoveries[i] = parse(columns[recoveryColumn]);
+        }
+        return new double[] {median(spinUps), median(recoveries)};
+    }
+
+    private static double parse(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Entry point for the compareSpinUpBoost task.
+     *
+     * @param args Optional number of runs per configuration (default 3), then the flywheel speed in
+     *             rps (default {@link Constants#shooterSpeed})
+     */
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        double shooterSpeed = args.length > 1 ? Double.parseDouble(args[1]) : Constants.shooterSpeed;
+
+        double[] off = measure(false, shooterSpeed, runs);
+        double[] on = measure(true, shooterSpeed, runs);
+
+        System.out.println("boost,spinUpSeconds,recoverySeconds,cycleOverheadSeconds");
+        System.out.printf("off,%.3f,%.3f,%.3f%n", off[0], off[1], off[0] + off[1]);
+        System.out.printf("on,%.3f,%.3f,%.3f%n", on[0], on[1], on[0] + on[1]);
+        System.out.printf("Boost saves %.0f ms of spin-up and %.0f ms of recovery per cycle at %.0f rps%n",
+            (off[0] - on[0]) * 1000, (off[1] - on[1]) * 1000, shooterSpeed);
+    }
+}
@@ -0,0 +1,58 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.pathplanner.lib.path.PathPlannerPath;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+
+/**
+ * Runs the full "Bryce Auto" through {@link HeadlessSimRunner} and checks it finishes on the path.
+ * The runner initializes the HAL, so this class needs its own JVM; the test task forks one per class.
+ * <p>
+ * The speedup over real time is printed on every run, but it depends on how loaded the machine is,
+ * so it is only asserted with {@code ./gradlew test -PcheckSimSpeedup}.
+ */
+class HeadlessAutoTest {
+    private static final String kAutoName = "Bryce Auto";
+    private static final double kAutoSeconds = 15.0;
+
+    private static final double kMinSpeedup = 20.0;
+    /* Meters from the last path point once the auto has had its full 15 s */
+    private static final double kMaxFinalError = 0.3;
+    private static final double kMaxTrackingRmsError = 0.2;
+
+    @Test
+    void bryceAuto() throws Exception {
+        HeadlessSimRunner.Result result = HeadlessSimRunner.runAuto(kAutoName, kAutoSeconds);
+
+        System.out.printf("%s: %.1f s simulated in %.1f s, %.1fx real time%n",
+            kAutoName, result.simSeconds, result.wallSeconds, result.getSpeedup());
+        if (Boolean.getBoolean("checkSimSpeedup")) {
+            assertTrue(result.getSpeedup() >= kMinSpeedup,
+                String.format("%.1fx real time, expected at least %.0fx", result.getSpeedup(), kMinSpeedup));
+        }
+
+        /* The auto is the single Bryce path; PathPlanner flips it for the red alliance */
+        PathPlannerPath path = PathPlannerPath.fromPathFile("Bryce");
+        if (DriverStation.getAlliance().orElse(Alliance.Blue) == Alliance.Red) {
+            path = path.flipPath();
+        }
+        List<Pose2d> poses = path.getPathPoses();
+        Translation2d end = poses.get(poses.size() - 1).getTranslation();
+        double finalError = result.finalPose.getTranslation().getDistance(end);
+        assertTrue(finalError <= kMaxFinalError,
+            String.format("ended %.3f m from the path end %s at %s", finalError, end, result.finalPose));
+
+        assertTrue(result.trackingRmsError < kMaxTrackingRmsError,
+            String.format("tracking RMS error %.3f m, expected under %.2f m",
+                result.trackingRmsError, kMaxTrackingRmsError));
+    }
+}
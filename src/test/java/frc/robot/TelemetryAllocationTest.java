@@ -0,0 +1,116 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.ctre.phoenix6.swerve.SwerveDrivetrain.SwerveDriveState;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/**
+ * Checks that telemetry allocates nothing per drive state once warmed up, on both the odometry
+ * thread that calls {@link Telemetry#telemeterize} and the consumer thread that logs and publishes.
+ */
+class TelemetryAllocationTest {
+    /* Less than the ring capacity, so the consumer sees every state of a burst */
+    private static final int kBurst = 32;
+    private static final int kWarmupStates = 625 * kBurst;
+    private static final int kMeasuredStates = 160 * kBurst;
+    private static final long kDrainMs = 20;
+    /* Longer than the consumer's 5 ms wakeup, so every burst is drained before the next */
+    private static final long kBurstGapMs = 12;
+
+    private static com.sun.management.ThreadMXBean s_threads;
+    private static Telemetry s_telemetry;
+    private static SwerveDriveState s_state;
+
+    @BeforeAll
+    static void setup() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        s_threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(s_threads.isThreadAllocatedMemorySupported());
+        s_threads.setThreadAllocatedMemoryEnabled(true);
+
+        HAL.initialize(500, 0);
+        s_telemetry = new Telemetry(Constants.drivetrainMaxSpeed);
+
+        s_state = new SwerveDriveState();
+        s_state.Pose = new Pose2d(3.0, 4.0, Rotation2d.fromDegrees(30));
+        s_state.Speeds = new ChassisSpeeds(1.0, 0.5, 0.25);
+        s_state.ModuleStates = new SwerveModuleState[4];
+        s_state.ModuleTargets = new SwerveModuleState[4];
+        s_state.ModulePositions = new SwerveModulePosition[4];
+        for (int i = 0; i < 4; ++i) {
+            s_state.ModuleStates[i] = new SwerveModuleState(1.0, Rotation2d.fromDegrees(i * 10));
+            s_state.ModuleTargets[i] = new SwerveModuleState(1.1, Rotation2d.fromDegrees(i * 10));
+            s_state.ModulePositions[i] = new SwerveModulePosition(i, Rotation2d.fromDegrees(i * 10));
+        }
+        s_state.OdometryPeriod = 0.004;
+
+        /* Warm up both threads so the measured calls run JIT-compiled code */
+        for (int i = 0; i < kWarmupStates; i += kBurst) {
+            telemeterizeBurst();
+            sleep(kBurstGapMs);
+        }
+        sleep(kDrainMs);
+    }
+
+    private static void telemeterizeBurst() {
+        for (int i = 0; i < kBurst; ++i) {
+            /* 4 ms apart, so every dashboard and Mechanism2d tier publishes too */
+            s_state.Timestamp += 0.004;
+            s_telemetry.telemeterize(s_state);
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* Bursts smaller than the ring, with the consumer draining in between, so no call is dropped */
+    private static void telemeterizeMeasured() {
+        for (int i = 0; i < kMeasuredStates; i += kBurst) {
+            telemeterizeBurst();
+            sleep(kBurstGapMs);
+        }
+    }
+
+    @Test
+    void telemeterizeAllocatesNothing() {
+        sleep(kDrainMs);
+        long droppedBefore = s_telemetry.getDroppedCount();
+        long before = s_threads.getCurrentThreadAllocatedBytes();
+        telemeterizeMeasured();
+        long allocated = s_threads.getCurrentThreadAllocatedBytes() - before;
+        assertEquals(droppedBefore, s_telemetry.getDroppedCount(), "calls that took the ring-full return");
+        assertEquals(0, allocated, "bytes allocated by " + kMeasuredStates + " telemeterize calls");
+    }
+
+    @Test
+    void consumerAllocatesNothing() {
+        sleep(kDrainMs);
+        long consumer = s_telemetry.getConsumerThreadId();
+        long droppedBefore = s_telemetry.getDroppedCount();
+        long before = s_threads.getThreadAllocatedBytes(consumer);
+        telemeterizeMeasured();
+        sleep(kDrainMs);
+        long allocated = s_threads.getThreadAllocatedBytes(consumer) - before;
+        assertEquals(droppedBefore, s_telemetry.getDroppedCount(), "drive states the consumer never saw");
+        assertEquals(0, allocated, "bytes allocated by the consumer thread publishing "
+            + kMeasuredStates + " drive states");
+    }
+}
@@ -0,0 +1,134 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.networktables.IntegerSubscriber;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+import frc.robot.VisionGate.Result;
+
+/**
+ * Drives {@link VisionGate} with a fixed sequence of estimates and odometry poses, the same way a
+ * recorded match would, and checks every decision and the published counters.
+ */
+class VisionGateTest {
+    private static final double kFieldLength = 16.54;
+    private static final double kFieldWidth = 8.21;
+
+    /* One estimate and the odometry it is checked against */
+    private record Step(
+        double x, double y, int tagCount, double ambiguity,
+        double odometryX, double odometryY, double speedMps, double omegaRps, double elapsedSeconds,
+        Result expected) {}
+
+    private static Step step(double x, double y, int tagCount, double ambiguity,
+            double odometryX, double odometryY, double speedMps, double omegaRps, Result expected) {
+        return new Step(x, y, tagCount, ambiguity, odometryX, odometryY, speedMps, omegaRps, 0.05, expected);
+    }
+
+    private static Step jump(int tagCount, Result expected) {
+        /* Odometry still at its boot pose while the cameras see the robot across the field */
+        return step(8.0, 4.0, tagCount, 0.05, 2.0, 2.0, 0.0, 0.0, expected);
+    }
+
+    private static final Step[] kSequence = {
+        step(3.0, 4.0, 0, 0.0, 3.0, 4.0, 0.0, 0.0, Result.NO_TAGS),
+        step(3.0, 4.0, 2, 0.05, 3.1, 4.0, 0.0, 0.0, Result.ACCEPTED),
+        step(3.0, 4.0, 2, 0.05, 3.0, 4.0, 0.0, 2.5, Result.SPINNING),
+        step(-1.0, 4.0, 2, 0.05, 3.0, 4.0, 0.0, 0.0, Result.OUT_OF_FIELD),
+        step(3.0, kFieldWidth + 1.0, 2, 0.05, 3.0, 4.0, 0.0, 0.0, Result.OUT_OF_FIELD),
+        step(3.0, 4.0, 1, 0.5, 3.0, 4.0, 0.0, 0.0, Result.AMBIGUOUS),
+        step(3.0, 4.0, 1, 0.1, 3.0, 4.0, 0.0, 0.0, Result.ACCEPTED),
+        /* 2.5 m off, but the robot could have covered that at 4 m/s over 0.5 s */
+        new Step(5.5, 4.0, 2, 0.05, 3.0, 4.0, 4.0, 0.0, 0.5, Result.ACCEPTED),
+        jump(2, Result.POSE_JUMP),
+        jump(2, Result.POSE_JUMP),
+        jump(2, Result.POSE_JUMP),
+        jump(2, Result.POSE_JUMP),
+        jump(2, Result.POSE_JUMP),
+        jump(2, Result.POSE_JUMP),
+        jump(2, Result.POSE_JUMP),
+        jump(2, Result.POSE_JUMP),
+        jump(2, Result.POSE_JUMP),
+        jump(2, Result.POSE_JUMP),
+        /* Past the limit, but a single tag is never trusted to re-seed odometry */
+        jump(1, Result.POSE_JUMP),
+        /* Odometry is assumed wrong now, so a multi-tag estimate re-seeds it */
+        jump(2, Result.ACCEPTED),
+        /* The re-seed resets the count, so the next jump is rejected again */
+        jump(2, Result.POSE_JUMP),
+    };
+
+    private static Vision.Estimate toEstimate(Step step) {
+        Vision.Estimate estimate = new Vision.Estimate();
+        estimate.x = step.x();
+        estimate.y = step.y();
+        estimate.tagCount = step.tagCount();
+        estimate.avgAmbiguity = step.ambiguity();
+        return estimate;
+    }
+
+    private static void run(VisionGate gate) {
+        for (int i = 0; i < kSequence.length; ++i) {
+            Step step = kSequence[i];
+            Result result = gate.check(toEstimate(step), step.odometryX(), step.odometryY(),
+                step.speedMps(), step.omegaRps(), step.elapsedSeconds());
+            assertEquals(step.expected(), result, "step " + i);
+        }
+    }
+
+    private static long expectedCount(Result result) {
+        long count = 0;
+        for (Step step : kSequence) {
+            if (step.expected() == result) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void recordedSequence() {
+        VisionGate gate = new VisionGate(kFieldLength, kFieldWidth);
+        run(gate);
+        assertEquals(1, gate.getCount(Result.NO_TAGS));
+        assertEquals(4, gate.getCount(Result.ACCEPTED));
+        assertEquals(1, gate.getCount(Result.SPINNING));
+        assertEquals(2, gate.getCount(Result.OUT_OF_FIELD));
+        assertEquals(1, gate.getCount(Result.AMBIGUOUS));
+        assertEquals(12, gate.getCount(Result.POSE_JUMP));
+    }
+
+    @Test
+    void resetCountsStartsASequenceOver() {
+        VisionGate gate = new VisionGate(kFieldLength, kFieldWidth);
+        run(gate);
+        gate.resetCounts();
+        for (Result result : Result.values()) {
+            assertEquals(0, gate.getCount(result), result.name());
+        }
+        /* The consecutive jump count is cleared too, so the re-seed happens at the same step */
+        run(gate);
+    }
+
+    @Test
+    void publishesCounters() {
+        NetworkTable table = NetworkTableInstance.getDefault().getTable("Vision").getSubTable("Gate");
+        IntegerSubscriber[] subscribers = new IntegerSubscriber[Result.values().length];
+        for (Result result : Result.values()) {
+            subscribers[result.ordinal()] = table.getIntegerTopic(result.name()).subscribe(-1);
+        }
+
+        VisionGate gate = new VisionGate(kFieldLength, kFieldWidth);
+        run(gate);
+        gate.publish();
+
+        for (Result result : Result.values()) {
+            assertEquals(expectedCount(result), subscribers[result.ordinal()].get(), result.name());
+            subscribers[result.ordinal()].close();
+        }
+    }
+}
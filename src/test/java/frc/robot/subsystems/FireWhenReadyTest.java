@@ -0,0 +1,146 @@
+package frc.robot.subsystems;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ctre.phoenix6.controls.ControlRequest;
+import com.ctre.phoenix6.controls.DutyCycleOut;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+/**
+ * Runs {@link Shooter#fireWhenReady(Intake)} against simulated IO layers, with the flywheels held at
+ * speed, and checks that only a note leaving the indexer counts as a shot.
+ */
+class FireWhenReadyTest {
+  private static final double kSpeed = 70;
+  private static final double kLoopSeconds = 0.02;
+
+  /* Flywheels that sit at whatever speed they are told to, and count the shots taken out of them */
+  private static final class SimShooterIO implements ShooterIO {
+    double velocity = 0;
+    int shots = 0;
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+      inputs.innerVelocity = velocity;
+      inputs.outerVelocity = -velocity;
+    }
+
+    @Override
+    public void simulateShot() {
+      ++shots;
+    }
+  }
+
+  /* Indexer beam break that is set by the test, and the last indexer output */
+  private static final class SimIntakeIO implements IntakeIO {
+    boolean hasNote = false;
+    double indexerOutput = 0;
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+      inputs.hasNote = hasNote;
+    }
+
+    @Override
+    public void setIndexerControl(ControlRequest request) {
+      indexerOutput = ((DutyCycleOut) request).Output;
+    }
+  }
+
+  private final SimShooterIO shooterIO = new SimShooterIO();
+  private final SimIntakeIO intakeIO = new SimIntakeIO();
+  private Shooter shooter;
+  private Intake intake;
+  private Command fire;
+
+  @BeforeAll
+  static void initHal() {
+    HAL.initialize(500, 0);
+    SimHooks.pauseTiming();
+  }
+
+  @BeforeEach
+  void setup() {
+    DriverStationSim.setEnabled(true);
+    DriverStationSim.notifyNewData();
+
+    shooter = new Shooter(shooterIO);
+    intake = new Intake(intakeIO);
+    shooter.startWheels(kSpeed);
+    shooterIO.velocity = kSpeed;
+    fire = shooter.fireWhenReady(intake);
+  }
+
+  @AfterEach
+  void teardown() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    scheduler.cancelAll();
+    scheduler.unregisterAllSubsystems();
+    scheduler.getDefaultButtonLoop().clear();
+  }
+
+  private static void runLoops(int loops) {
+    for (int i = 0; i < loops; ++i) {
+      SimHooks.stepTiming(kLoopSeconds);
+      CommandScheduler.getInstance().run();
+    }
+  }
+
+  @Test
+  void noteLeavingCountsOneShot() {
+    intakeIO.hasNote = true;
+    fire.schedule();
+    /* Longer than the at-speed debounce */
+    runLoops(5);
+    assertTrue(fire.isScheduled());
+    assertTrue(intakeIO.indexerOutput != 0, "indexer feeding once at speed");
+    assertEquals(0, shooterIO.shots);
+
+    intakeIO.hasNote = false;
+    runLoops(1);
+    assertFalse(fire.isScheduled(), "finishes once the note has left");
+    assertEquals(1, shooterIO.shots);
+    assertEquals(0, intakeIO.indexerOutput);
+
+    runLoops(20);
+    assertEquals(1, shooterIO.shots);
+  }
+
+  @Test
+  void emptyIndexerIsNotAShot() {
+    fire.schedule();
+    runLoops(50);
+    assertTrue(fire.isScheduled(), "waits for a note instead of finishing");
+    assertEquals(0, shooterIO.shots);
+
+    fire.cancel();
+    runLoops(1);
+    assertEquals(0, shooterIO.shots);
+  }
+
+  @Test
+  void noteArrivingWhileHeldIsFired() {
+    fire.schedule();
+    runLoops(10);
+    intakeIO.hasNote = true;
+    runLoops(3);
+    assertTrue(fire.isScheduled());
+
+    intakeIO.hasNote = false;
+    runLoops(1);
+    assertFalse(fire.isScheduled());
+    assertEquals(1, shooterIO.shots);
+  }
+}
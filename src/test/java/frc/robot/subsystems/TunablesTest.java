@@ -0,0 +1,100 @@
+package frc.robot.subsystems;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+
+/**
+ * Runs {@link Tunables} on a local NetworkTables server with a second instance connected as the
+ * dashboard, so dashboard writes arrive as remote changes like they do on the robot.
+ */
+class TunablesTest {
+  private static final int kPort = 5820;
+  private static final long kTimeoutMs = 2000;
+
+  @TempDir
+  Path tempDir;
+
+  private NetworkTableInstance robot;
+  private NetworkTableInstance dashboard;
+  private Tunables tunables;
+  private final List<Double> changes = new ArrayList<>();
+
+  @BeforeAll
+  static void initHal() {
+    HAL.initialize(500, 0);
+  }
+
+  @BeforeEach
+  void setup() throws InterruptedException {
+    robot = NetworkTableInstance.create();
+    robot.startServer(tempDir.resolve("networktables.json").toString(), "127.0.0.1", 0, kPort);
+    dashboard = NetworkTableInstance.create();
+    dashboard.startClient4("dashboard");
+    dashboard.setServer("127.0.0.1", kPort);
+    waitFor(dashboard::isConnected);
+
+    tunables = new Tunables(robot);
+    tunables.addNumber("Test/kP", 1.0, changes::add);
+  }
+
+  @AfterEach
+  void teardown() {
+    CommandScheduler.getInstance().unregisterSubsystem(tunables);
+    dashboard.close();
+    robot.close();
+  }
+
+  private interface Condition {
+    boolean get();
+  }
+
+  private static void waitFor(Condition condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + kTimeoutMs;
+    while (!condition.get()) {
+      assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for NetworkTables");
+      Thread.sleep(5);
+    }
+  }
+
+  @Test
+  void noChangeCostsNothing() {
+    for (int i = 0; i < 1000; ++i) {
+      tunables.periodic();
+    }
+    assertEquals(0, tunables.getScanCount(), "loops that read any tunable entry");
+    assertEquals(List.of(), changes);
+  }
+
+  @Test
+  void remoteSetAppliesOnce() throws InterruptedException {
+    try (DoublePublisher publisher = dashboard.getDoubleTopic("/SmartDashboard/Test/kP").publish()) {
+      publisher.set(2.5);
+      dashboard.flush();
+
+      waitFor(() -> {
+        tunables.periodic();
+        return !changes.isEmpty();
+      });
+      for (int i = 0; i < 100; ++i) {
+        tunables.periodic();
+      }
+    }
+    assertEquals(List.of(2.5), changes);
+    assertEquals(1, tunables.getScanCount());
+  }
+}
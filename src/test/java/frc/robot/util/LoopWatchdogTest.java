@@ -0,0 +1,149 @@
+package frc.robot.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringSubscriber;
+
+import frc.robot.util.LoopWatchdog.Shed;
+
+/**
+ * Feeds {@link LoopWatchdog} synthetic loop times against a 20 ms period, so a 15 ms budget and a
+ * 9 ms restore threshold, and checks the escalate and restore hysteresis.
+ */
+class LoopWatchdogTest {
+    private static final double kPeriodSeconds = 0.02;
+    private static final long kNanosPerMs = 1_000_000;
+
+    private static final double kOverBudgetMs = 18;
+    private static final double kBetweenMs = 12;
+    private static final double kQuietMs = 5;
+
+    private LoopWatchdog m_watchdog;
+
+    @BeforeEach
+    void setup() {
+        m_watchdog = new LoopWatchdog(kPeriodSeconds);
+    }
+
+    private void feed(double loopMs, int loops) {
+        for (int i = 0; i < loops; ++i) {
+            m_watchdog.endLoop((long) (loopMs * kNanosPerMs));
+        }
+    }
+
+    /* Sheds every stage: the 10 loop average passes 15 ms on loop 9, then once every 5 loops */
+    private void shedEverything() {
+        feed(kOverBudgetMs, 19);
+        assertEquals(Shed.values().length, m_watchdog.getShedLevel());
+    }
+
+    @Test
+    void escalatesOneStageEveryFiveLoops() {
+        feed(kOverBudgetMs, 8);
+        assertEquals(0, m_watchdog.getShedLevel(), "average still under budget");
+
+        feed(kOverBudgetMs, 1);
+        assertEquals(1, m_watchdog.getShedLevel());
+        assertTrue(m_watchdog.isShed(Shed.MECHANISM2D));
+        assertFalse(m_watchdog.isShed(Shed.DASHBOARD));
+
+        feed(kOverBudgetMs, 4);
+        assertEquals(1, m_watchdog.getShedLevel(), "escalated again too soon");
+        feed(kOverBudgetMs, 1);
+        assertEquals(2, m_watchdog.getShedLevel());
+
+        feed(kOverBudgetMs, 5);
+        assertEquals(3, m_watchdog.getShedLevel());
+        assertTrue(m_watchdog.isShed(Shed.VISION));
+
+        feed(kOverBudgetMs, 100);
+        assertEquals(3, m_watchdog.getShedLevel(), "shed past the last stage");
+        assertEquals(0, m_watchdog.getOverrunCount(), "18 ms loops are under the period");
+    }
+
+    @Test
+    void holdsBetweenRestoreAndBudget() {
+        shedEverything();
+        feed(kBetweenMs, 500);
+        assertEquals(3, m_watchdog.getShedLevel());
+    }
+
+    @Test
+    void restoresOneStageAfterFiftyQuietLoops() {
+        shedEverything();
+        feed(kBetweenMs, 10);
+
+        /* The average drops under 9 ms on the 5th quiet loop, so the 54th is the 50th in a row */
+        feed(kQuietMs, 53);
+        assertEquals(3, m_watchdog.getShedLevel());
+        feed(kQuietMs, 1);
+        assertEquals(2, m_watchdog.getShedLevel());
+        assertTrue(m_watchdog.isShed(Shed.DASHBOARD));
+        assertFalse(m_watchdog.isShed(Shed.VISION));
+
+        /* Each restore starts the count over */
+        feed(kQuietMs, 49);
+        assertEquals(2, m_watchdog.getShedLevel());
+        feed(kQuietMs, 1);
+        assertEquals(1, m_watchdog.getShedLevel());
+    }
+
+    @Test
+    void loopsBetweenThresholdsResetTheRestoreCount() {
+        shedEverything();
+        /* The average drops under 9 ms on the 7th loop, so 44 quiet loops in a row */
+        feed(kQuietMs, 50);
+
+        /* 12 ms loops pull the average back over 9 ms on the 6th, one loop short of a restore */
+        feed(kBetweenMs, 6);
+        feed(kQuietMs, 10);
+        assertEquals(3, m_watchdog.getShedLevel(), "restored without 50 quiet loops in a row");
+    }
+
+    @Test
+    void singleSpikeIsAnOverrunButKeepsTheRestoreCount() {
+        shedEverything();
+        /* 34 quiet loops in a row */
+        feed(kQuietMs, 40);
+
+        /* One 30 ms loop among 5 ms loops keeps the average at 7.5 ms */
+        feed(30, 1);
+        assertEquals(1, m_watchdog.getOverrunCount());
+        assertEquals(3, m_watchdog.getShedLevel());
+
+        feed(kQuietMs, 14);
+        assertEquals(3, m_watchdog.getShedLevel());
+        feed(kQuietMs, 1);
+        assertEquals(2, m_watchdog.getShedLevel());
+    }
+
+    @Test
+    void overrunNamesTheSlowestSection() {
+        int loop = LoopProfiler.registerAggregate("Test/Loop");
+        int fast = LoopProfiler.register("Test/Fast");
+        int slow = LoopProfiler.register("Test/Slow");
+        StringSubscriber stage = NetworkTableInstance.getDefault()
+            .getTable("LoopWatchdog").getStringTopic("LastOverrunStage").subscribe("");
+
+        long now = System.nanoTime();
+        LoopProfiler.record(fast, now - 2 * kNanosPerMs);
+        LoopProfiler.record(slow, now - 20 * kNanosPerMs);
+        /* The enclosing section is always the longest, but never the one blamed */
+        LoopProfiler.record(loop, now - 25 * kNanosPerMs);
+        assertEquals(slow, LoopProfiler.getSlowestThisLoop());
+
+        m_watchdog.endLoop(25 * kNanosPerMs);
+        assertEquals(1, m_watchdog.getOverrunCount());
+        assertEquals("Test/Slow", stage.get());
+
+        LoopProfiler.publish();
+        assertEquals(-1, LoopProfiler.getSlowestThisLoop(), "publish starts the next loop");
+        stage.close();
+    }
+}
@@ -0,0 +1,130 @@
+package frc.robot.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.wpi.first.hal.HAL;
+
+/**
+ * Checks that {@link MechanismLog} never maps a segment on the calling thread, and that a full
+ * segment rotates into the next one instead of dropping records.
+ */
+class MechanismLogTest {
+    private static final int kCapacity = 10;
+    private static final long kTimeoutMs = 2000;
+
+    @TempDir
+    File m_directory;
+
+    private MechanismLog m_log;
+    private double m_value = 0;
+
+    @BeforeAll
+    static void initHal() {
+        HAL.initialize(500, 0);
+    }
+
+    @BeforeEach
+    void setup() {
+        m_log = new MechanismLog(m_directory, kCapacity);
+        m_log.addColumn("Test/value", () -> m_value);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + kTimeoutMs;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the background thread");
+            Thread.sleep(5);
+        }
+    }
+
+    private File[] segments() {
+        return m_directory.listFiles((dir, name) -> name.endsWith(".mlog"));
+    }
+
+    private static long recordCount(File segment) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(segment, "r")) {
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer.getLong(MechanismLog.kRecordCountOffset);
+        }
+    }
+
+    private void appendRecords(int count) {
+        for (int i = 0; i < count; ++i) {
+            m_value += 1;
+            m_log.append();
+        }
+    }
+
+    @Test
+    void startBeforePreparedSkipsUntilReady() throws InterruptedException {
+        m_log.start();
+        assertFalse(m_log.isWriting(), "mapped a segment on the calling thread");
+
+        waitFor(m_log::isNextReady);
+        m_log.append();
+        assertTrue(m_log.isWriting());
+        assertEquals(1, segments().length, "mapped more than one segment");
+    }
+
+    @Test
+    void preparedSegmentIsUsedAtStart() throws InterruptedException {
+        m_log.prepare();
+        waitFor(m_log::isNextReady);
+        m_log.start();
+        assertTrue(m_log.isWriting());
+        assertFalse(m_log.isNextReady());
+        assertEquals(1, segments().length);
+    }
+
+    @Test
+    void fullSegmentRotates() throws InterruptedException, IOException {
+        m_log.prepare();
+        waitFor(m_log::isNextReady);
+        m_log.start();
+
+        /* The next segment is mapped once this one is 90% full */
+        appendRecords(kCapacity);
+        waitFor(m_log::isNextReady);
+        assertEquals(2, segments().length);
+
+        appendRecords(3);
+        assertEquals(0, m_log.getDroppedCount());
+        assertTrue(m_log.isWriting());
+
+        /* Before finish() starts preparing a third */
+        File[] segments = segments();
+        assertEquals(2, segments.length);
+        m_log.finish();
+        assertEquals(kCapacity + 3, recordCount(segments[0]) + recordCount(segments[1]));
+    }
+
+    @Test
+    void finishClosesAndPreparesTheNext() throws InterruptedException {
+        m_log.prepare();
+        waitFor(m_log::isNextReady);
+        m_log.start();
+        appendRecords(5);
+
+        m_log.finish();
+        assertFalse(m_log.isWriting());
+        appendRecords(5);
+        waitFor(m_log::isNextReady);
+        assertEquals(2, segments().length);
+    }
+}